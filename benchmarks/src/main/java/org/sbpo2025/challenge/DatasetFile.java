@@ -0,0 +1,30 @@
+package org.sbpo2025.challenge;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Instancia de {@code datasets/a} o {@code datasets/b} sobre la que corre cada
+ * benchmark. Por defecto todas; {@code -p instance=b/instance_0011} elige una y
+ * {@code -p datasets=/ruta} cambia el directorio raíz.
+ */
+@State(Scope.Benchmark)
+public class DatasetFile {
+    @Param("../datasets")
+    public String datasets;
+
+    @Param({
+            "a/instance_0001", "a/instance_0002", "a/instance_0003", "a/instance_0004", "a/instance_0005",
+            "a/instance_0006", "a/instance_0007", "a/instance_0008", "a/instance_0009", "a/instance_0010",
+            "a/instance_0011", "a/instance_0012", "a/instance_0013", "a/instance_0014", "a/instance_0015",
+            "a/instance_0016", "a/instance_0017", "a/instance_0018", "a/instance_0019", "a/instance_0020",
+            "b/instance_0001", "b/instance_0002", "b/instance_0003", "b/instance_0004", "b/instance_0005",
+            "b/instance_0006", "b/instance_0007", "b/instance_0008", "b/instance_0009", "b/instance_0010",
+            "b/instance_0011", "b/instance_0012", "b/instance_0013", "b/instance_0014", "b/instance_0015"})
+    public String instance;
+
+    String path() {
+        return datasets + "/" + instance + ".txt";
+    }
+}
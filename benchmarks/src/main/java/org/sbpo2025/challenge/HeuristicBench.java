@@ -0,0 +1,118 @@
+package org.sbpo2025.challenge;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Caminos calientes de las heurísticas de {@link ChallengeSolver}, sobre una
+ * ola de referencia construida en el setup: la primera factible de GRASP + VND
+ * con semilla fija o, si no aparece, la de una búsqueda en pasillos acotada.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class HeuristicBench {
+    private static final long SEED          = 20250101L;
+    private static final int  WAVE_ATTEMPTS = 50;
+    private static final long FALLBACK_MS   = 5_000;
+
+    /** Sin plazo: los benchmarks miden iteraciones completas. */
+    private static final CancelToken NEVER = CancelToken.until(Long.MAX_VALUE);
+
+    @State(Scope.Benchmark)
+    public static class Wave extends DatasetFile {
+        Instance          inst;
+        ChallengeSolver   solver;
+        ChallengeSolution wave;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            inst   = InstanceParser.parse(Path.of(path()));
+            solver = new ChallengeSolver(inst, new SolverConfig(1));
+            Random rand = new Random(SEED);
+            for (int k = 0; k < WAVE_ATTEMPTS; k++) {     // primera ola factible (o la última)
+                wave = solver.vndLocalSearch(solver.constructiveGreedy(inst.orderUnits, rand, NEVER),
+                                             inst.orderUnits, NEVER);
+                if (solver.isSolutionFeasible(wave)) return;
+            }
+            Incumbent found = new Incumbent();            // respaldo: búsqueda en pasillos acotada
+            new AisleSetSearch(inst, rand).run(null,
+                    CancelToken.until(System.currentTimeMillis() + FALLBACK_MS), found);
+            if (found.solution() != null) wave = found.solution();
+        }
+    }
+
+    /** Memoria de trabajo por hilo: los pasillos de la ola abiertos, un cursor de órdenes y un recocedor. */
+    @State(Scope.Thread)
+    public static class Scratch {
+        Random      rand;
+        AisleSupply open;
+        IntList     added = new IntList();
+        Annealer    annealer;
+        int         cursor;
+
+        @Setup(Level.Trial)
+        public void setup(Wave w) {
+            rand = new Random(SEED);
+            open = new AisleSupply(w.inst);
+            for (int a : w.wave.aisles()) open.open(a);
+            annealer = new Annealer(w.inst, new Random(SEED));
+            annealer.reset(w.wave);
+        }
+
+        int nextOrder(int nOrders) {
+            int o = cursor;
+            cursor = o + 1 == nOrders ? 0 : o + 1;
+            return o;
+        }
+    }
+
+    /** Cobertura greedy de una orden (rotando por todas) sobre los pasillos de la ola. */
+    @Benchmark
+    public int greedyAddAislesForOrder(Wave w, Scratch s) {
+        s.added.clear();
+        w.solver.greedyAddAislesForOrder(s.nextOrder(w.inst.nOrders), s.open, s.added);
+        return s.added.size();
+    }
+
+    @Benchmark
+    public boolean isSolutionFeasible(Wave w) {
+        return w.solver.isSolutionFeasible(w.wave);
+    }
+
+    @Benchmark
+    public double computeObjectiveFunction(Wave w) {
+        return w.solver.computeObjectiveFunction(w.wave);
+    }
+
+    /** Una iteración de GRASP: constructivo + VND (lenta en las instancias grandes de B). */
+    @Benchmark
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 5)
+    public ChallengeSolution graspIteration(Wave w, Scratch s) {
+        ChallengeSolution g = w.solver.constructiveGreedy(w.inst.orderUnits, s.rand, NEVER);
+        return w.solver.vndLocalSearch(g, w.inst.orderUnits, NEVER);
+    }
+
+    /** Un movimiento del recocido (a la temperatura final) desde la ola de referencia. */
+    @Benchmark
+    public boolean annealMove(Wave w, Scratch s) {
+        return s.annealer.move(Annealer.T_END);
+    }
+}
@@ -0,0 +1,286 @@
+package org.sbpo2025.challenge;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generador de instancias sintéticas en el formato de entrada del reto, con
+ * semilla: la misma especificación da siempre el mismo fichero.
+ *
+ * <ul>
+ *   <li>Popularidad de los ítems Zipf ({@link #ITEM_SKEW}); cada orden pide
+ *       {@code itemsPerOrder} ítems distintos de media (1 + geométrica) y
+ *       1 + geométrica unidades de cada uno (≈ 1.3, como en los datasets).</li>
+ *   <li>Cada ítem está en {@link #COPIES} pasillos de media, elegidos al azar
+ *       (≈ 1 % de los ítems por pasillo en los tamaños de {@code datasets/b}).
+ *       Su stock total es ≈ {@link #SUPPLY} veces su demanda y se reparte
+ *       entre esos pasillos con peso Zipf de exponente {@code stockSkew} sobre
+ *       una permutación de los pasillos (0 = a partes iguales; más alto = unos
+ *       pocos pasillos concentran el stock y en el resto queda poco).</li>
+ *   <li>Sin {@code lb} / {@code ub} explícitos, {@link #LB_SHARE} y
+ *       {@link #UB_SHARE} de las unidades totales (la proporción habitual en
+ *       {@code datasets/a} y {@code datasets/b}). Con los pasillos al azar,
+ *       lo que alcanzan {@link WaveState#MAX_AISLES} pasillos cae con el
+ *       tamaño y a partir de unas 50 000 órdenes esa LB deja de ser
+ *       alcanzable; por eso se acota además a {@link #WITNESS_SHARE} de una
+ *       ola testigo (las órdenes que caben, en orden, en los
+ *       {@link WaveState#MAX_AISLES} pasillos con más stock) y la instancia
+ *       siempre tiene solución.</li>
+ * </ul>
+ *
+ * Uso: {@code java -cp target/benchmarks.jar org.sbpo2025.challenge.InstanceGenerator <output>
+ * [--orders 50000] [--items <0.85 × orders>] [--aisles <2.3 × √orders>] [--items-per-order 1.5]
+ * [--stock-skew 1.0] [--lb <n>] [--ub <n>] [--seed 1]}
+ */
+public final class InstanceGenerator {
+    static final double ITEM_SKEW = 0.8;
+    static final double COPIES    = 5;
+    static final double SUPPLY    = 10;
+    static final double LB_SHARE  = 0.10;
+    static final double UB_SHARE  = 0.35;
+    static final double WITNESS_SHARE = 0.5;
+
+    /** Especificación; {@code lb} / {@code ub} ≤ 0 se derivan de las unidades totales. */
+    record Spec(int orders, int items, int aisles, double itemsPerOrder, double stockSkew,
+                int lb, int ub, long seed) {
+        Spec {
+            if (orders < 1 || items < 1 || aisles < 1)
+                throw new IllegalArgumentException("orders, items and aisles must be >= 1");
+            if (itemsPerOrder < 1) throw new IllegalArgumentException("items-per-order must be >= 1: " + itemsPerOrder);
+            if (stockSkew < 0) throw new IllegalArgumentException("stock-skew must be >= 0: " + stockSkew);
+        }
+
+        /** Tamaños derivados de {@code orders} con las proporciones de {@code datasets/b}. */
+        static Spec scaled(int orders, long seed) {
+            return new Spec(orders, Math.max(1, (int) (orders * 0.85)),
+                            Math.max(20, (int) Math.round(2.3 * Math.sqrt(orders))), 1.5, 1.0, 0, 0, seed);
+        }
+    }
+
+    /** Resumen de lo escrito; {@code witness}: unidades de la ola testigo. */
+    record Summary(long units, long nonZeros, int lb, int ub, long witness) { }
+
+    private InstanceGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: java -cp <jar> org.sbpo2025.challenge.InstanceGenerator <output>"
+                    + " [--orders <n>] [--items <n>] [--aisles <n>] [--items-per-order <x>] [--stock-skew <s>]"
+                    + " [--lb <n>] [--ub <n>] [--seed <s>]");
+            return;
+        }
+        Spec spec;
+        try {
+            spec = parse(args);
+        } catch (IllegalArgumentException e) {            // incluye NumberFormatException
+            System.err.println("Invalid option: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        long t0 = System.currentTimeMillis();
+        Summary s = write(spec, Path.of(args[0]));
+        System.out.printf("%s: %d órdenes, %d ítems, %d pasillos, %d uds, LB %d, UB %d, testigo %d uds, %d no nulos, %d ms%n",
+                          args[0], spec.orders(), spec.items(), spec.aisles(), s.units(), s.lb(), s.ub(),
+                          s.witness(), s.nonZeros(), System.currentTimeMillis() - t0);
+    }
+
+    private static Spec parse(String[] args) {
+        int orders = 50_000;
+        for (int i = 1; i + 1 < args.length; i += 2)
+            if (args[i].equals("--orders")) orders = Integer.parseInt(args[i + 1]);
+        Spec d = Spec.scaled(orders, 1);
+        int    items = d.items(), aisles = d.aisles(), lb = 0, ub = 0;
+        double ipo = d.itemsPerOrder(), skew = d.stockSkew();
+        long   seed = d.seed();
+        for (int i = 1; i < args.length; i += 2) {
+            if (i + 1 == args.length) throw new IllegalArgumentException("missing value for " + args[i]);
+            String v = args[i + 1];
+            switch (args[i]) {
+                case "--orders"          -> { }
+                case "--items"           -> items = Integer.parseInt(v);
+                case "--aisles"          -> aisles = Integer.parseInt(v);
+                case "--items-per-order" -> ipo = Double.parseDouble(v);
+                case "--stock-skew"      -> skew = Double.parseDouble(v);
+                case "--lb"              -> lb = Integer.parseInt(v);
+                case "--ub"              -> ub = Integer.parseInt(v);
+                case "--seed"            -> seed = Long.parseLong(v);
+                default -> throw new IllegalArgumentException("unknown option: " + args[i]);
+            }
+        }
+        return new Spec(orders, items, aisles, ipo, skew, lb, ub, seed);
+    }
+
+    /* ─────────────────────────── Generación ─────────────────────────── */
+    /** Escribe la instancia de {@code spec} en {@code output}. */
+    static Summary write(Spec spec, Path output) throws IOException {
+        Random rand = new Random(spec.seed());
+        int nI = spec.items(), nA = spec.aisles();
+        double[] itemCum  = zipfCumulative(nI, ITEM_SKEW, rand);
+        double[] aisleCum = zipfCumulative(nA, spec.stockSkew(), rand);
+
+        long[] demand = new long[nI];
+        int[]  stamp  = new int[Math.max(nI, nA)];
+        long   units  = 0, nnz = 0;
+        StringBuilder line = new StringBuilder(64);
+        try (BufferedWriter w = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            w.write(spec.orders() + " " + nI + " " + nA);
+            w.newLine();
+
+            /* órdenes: se escriben según se generan y se guardan para la ola testigo */
+            int maxLen = Math.min(nI, 64);
+            int[]   orderStart = new int[spec.orders() + 1];
+            IntList oItem = new IntList(), oQty = new IntList();
+            for (int o = 1; o <= spec.orders(); o++) {
+                int len = Math.min(maxLen, 1 + geometric(rand, spec.itemsPerOrder() - 1));
+                line.setLength(0);
+                line.append(len);
+                for (int k = 0; k < len; k++) {
+                    int item;
+                    do { item = sample(itemCum, rand); } while (stamp[item] == o);
+                    stamp[item] = o;
+                    int q = 1 + geometric(rand, 1.0 / 3);
+                    demand[item] += q;
+                    units += q;
+                    oItem.add(item);
+                    oQty.add(q);
+                    line.append(' ').append(item).append(' ').append(q);
+                }
+                orderStart[o] = oItem.size();
+                nnz += len;
+                w.write(line.toString());
+                w.newLine();
+            }
+
+            /* pasillos: cada ítem en 1 + geométrica pasillos al azar, stock repartido por peso */
+            Arrays.fill(stamp, 0);
+            int[] placeStart = new int[nA + 1];
+            IntList pItem = new IntList(), pAisle = new IntList(), pQty = new IntList();
+            int[] chosen = new int[nA];
+            for (int i = 0; i < nI; i++) {
+                int c = Math.min(nA, 1 + geometric(rand, COPIES - 1));
+                double wsum = 0;
+                for (int j = 0; j < c; j++) {
+                    int a;
+                    do { a = rand.nextInt(nA); } while (stamp[a] == i + 1);
+                    stamp[a]  = i + 1;
+                    chosen[j] = a;
+                    wsum += weight(aisleCum, a);
+                }
+                long total = demand[i] > 0
+                        ? Math.max(c, Math.round(demand[i] * SUPPLY * (0.5 + rand.nextDouble())))
+                        : c * (1L + rand.nextInt(5));
+                for (int j = 0; j < c; j++) {
+                    int a = chosen[j];
+                    long q = Math.max(1, Math.round(total * weight(aisleCum, a) / wsum));
+                    pItem.add(i);
+                    pAisle.add(a);
+                    pQty.add((int) Math.min(Integer.MAX_VALUE, q));
+                    placeStart[a + 1]++;
+                }
+            }
+            for (int a = 0; a < nA; a++) placeStart[a + 1] += placeStart[a];
+            int[] fill = new int[nA], byAisle = new int[pItem.size()];
+            for (int p = 0; p < pItem.size(); p++) {
+                int a = pAisle.get(p);
+                byAisle[placeStart[a] + fill[a]++] = p;
+            }
+            for (int a = 0; a < nA; a++) {
+                line.setLength(0);
+                line.append(placeStart[a + 1] - placeStart[a]);
+                for (int k = placeStart[a]; k < placeStart[a + 1]; k++) {
+                    int p = byAisle[k];
+                    line.append(' ').append(pItem.get(p)).append(' ').append(pQty.get(p));
+                }
+                w.write(line.toString());
+                w.newLine();
+            }
+            nnz += pItem.size();
+
+            int  ub      = spec.ub() > 0 ? spec.ub() : (int) Math.max(1, Math.round(UB_SHARE * units));
+            long witness = witness(orderStart, oItem, oQty, pItem, pAisle, pQty, nI, nA, ub);
+            int  lb      = spec.lb() > 0 ? spec.lb() : (int) Math.max(1, Math.min(ub,
+                    Math.min(Math.round(LB_SHARE * units), Math.round(WITNESS_SHARE * witness))));
+            w.write(lb + " " + ub);
+            w.newLine();
+            return new Summary(units, nnz, lb, ub, witness);
+        }
+    }
+
+    /**
+     * Unidades de la ola testigo: los {@link WaveState#MAX_AISLES} pasillos con
+     * más stock y, en orden, cada orden que aún cabe en lo que queda de él sin
+     * pasar de {@code ub}.
+     */
+    private static long witness(int[] orderStart, IntList oItem, IntList oQty,
+                                IntList pItem, IntList pAisle, IntList pQty, int nI, int nA, int ub) {
+        long[] stock = new long[nA];
+        for (int p = 0; p < pItem.size(); p++) stock[pAisle.get(p)] += pQty.get(p);
+        Integer[] byStock = new Integer[nA];
+        for (int a = 0; a < nA; a++) byStock[a] = a;
+        Arrays.sort(byStock, (x, y) -> Long.compare(stock[y], stock[x]));
+        boolean[] chosen = new boolean[nA];
+        for (int j = 0; j < Math.min(nA, WaveState.MAX_AISLES); j++) chosen[byStock[j]] = true;
+
+        long[] left = new long[nI];
+        for (int p = 0; p < pItem.size(); p++)
+            if (chosen[pAisle.get(p)]) left[pItem.get(p)] += pQty.get(p);
+        long units = 0;
+        for (int o = 0; o + 1 < orderStart.length; o++) {
+            int from = orderStart[o], to = orderStart[o + 1];
+            long u = 0;
+            boolean fits = true;
+            for (int k = from; k < to && fits; k++) {
+                fits = left[oItem.get(k)] >= oQty.get(k);
+                u += oQty.get(k);
+            }
+            if (!fits || units + u > ub) continue;
+            for (int k = from; k < to; k++) left[oItem.get(k)] -= oQty.get(k);
+            units += u;
+        }
+        return units;
+    }
+
+    /** Acumulada de pesos Zipf {@code 1 / rango^s} sobre una permutación aleatoria de {@code n}. */
+    private static double[] zipfCumulative(int n, double s, Random rand) {
+        int[] perm = new int[n];
+        for (int i = 0; i < n; i++) perm[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1), t = perm[i];
+            perm[i] = perm[j];
+            perm[j] = t;
+        }
+        double[] w = new double[n];
+        for (int r = 0; r < n; r++) w[perm[r]] = 1.0 / Math.pow(r + 1, s);
+        for (int i = 1; i < n; i++) w[i] += w[i - 1];
+        return w;
+    }
+
+    private static double weight(double[] cum, int i) {
+        return i == 0 ? cum[0] : cum[i] - cum[i - 1];
+    }
+
+    /** Índice con probabilidad proporcional a su peso (búsqueda binaria en la acumulada). */
+    private static int sample(double[] cum, Random rand) {
+        double x = rand.nextDouble() * cum[cum.length - 1];
+        int lo = 0, hi = cum.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cum[mid] > x) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    /** Geométrica en {0, 1, ...} de media {@code mean}. */
+    private static int geometric(Random rand, double mean) {
+        if (mean <= 0) return 0;
+        double p = 1.0 / (1.0 + mean);
+        return (int) Math.min(Integer.MAX_VALUE, Math.floor(Math.log(1.0 - rand.nextDouble()) / Math.log(1.0 - p)));
+    }
+}
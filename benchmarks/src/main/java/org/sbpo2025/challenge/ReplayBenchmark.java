@@ -0,0 +1,163 @@
+package org.sbpo2025.challenge;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Reproduce sobre una {@link SolverSession} un flujo de cambios sintéticos de
+ * una instancia: altas (copias de órdenes existentes con cantidades
+ * perturbadas), cancelaciones y cambios de stock, la mitad sobre órdenes o
+ * pasillos de la ola vigente para forzar reparaciones. Cada {@code batch}
+ * cambios se reoptimiza {@code reopt-ms} y, como referencia, se resuelve la
+ * instancia vigente desde cero con el mismo plazo.
+ *
+ * Por tanda imprime la latencia de reparación (media y máxima), el ratio tras
+ * reparar, tras reoptimizar en caliente y el de la resolución en frío. Si ya no
+ * quedan órdenes vivas, las altas y cancelaciones pasan a ser cambios de stock.
+ *
+ * Uso: {@code java -cp target/benchmarks.jar org.sbpo2025.challenge.ReplayBenchmark
+ * <instance> [--events 200] [--batch 10] [--reopt-ms 1000] [--warm-ms 10000] [--seed 1]}
+ */
+public final class ReplayBenchmark {
+    private ReplayBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: java -cp <jar> org.sbpo2025.challenge.ReplayBenchmark <instance>"
+                    + " [--events <n>] [--batch <n>] [--reopt-ms <ms>] [--warm-ms <ms>] [--seed <s>]");
+            return;
+        }
+        int  events = 200, batch = 10;
+        long reoptMs = 1_000, warmMs = 10_000, seed = 1;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--events"   -> events  = Integer.parseInt(args[i + 1]);
+                case "--batch"    -> batch   = Integer.parseInt(args[i + 1]);
+                case "--reopt-ms" -> reoptMs = Long.parseLong(args[i + 1]);
+                case "--warm-ms"  -> warmMs  = Long.parseLong(args[i + 1]);
+                case "--seed"     -> seed    = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("unknown option: " + args[i]);
+            }
+        }
+
+        SolverConfig config = SolverConfig.builder().workers(1).checkpointMs(0).build();
+        SolverSession session = new SolverSession(InstanceParser.parse(Path.of(args[0])), config);
+        long t0 = System.currentTimeMillis();
+        session.reoptimize(t0 + warmMs);
+        System.out.printf("Arranque: ratio %.4f en %d ms%n", session.ratio(), System.currentTimeMillis() - t0);
+
+        Random rand = new Random(seed);
+        List<Long> latencies = new ArrayList<>(events);
+        System.out.printf("%6s %7s %12s %12s %10s %10s %10s%n",
+                "batch", "events", "repair µs", "max µs", "repaired", "warm", "cold");
+        for (int b = 0, done = 0; done < events; b++) {
+            long sum = 0, max = 0;
+            int  n   = Math.min(batch, events - done);
+            for (int e = 0; e < n; e++) {
+                long ns = perturb(session, rand);
+                latencies.add(ns);
+                sum += ns;
+                max  = Math.max(max, ns);
+                verify(session, config);
+            }
+            done += n;
+            double repaired = session.ratio();
+            session.reoptimize(System.currentTimeMillis() + reoptMs);
+            verify(session, config);
+            double cold = coldRatio(session.instance(), config, reoptMs);
+            System.out.printf("%6d %7d %12.1f %12.1f %10.4f %10.4f %10.4f%n",
+                              b + 1, done, sum / 1e3 / n, max / 1e3, repaired, session.ratio(), cold);
+        }
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("Reparación: mediana %.1f µs, p99 %.1f µs, máxima %.1f µs%n",
+                          sorted[sorted.length / 2] / 1e3, sorted[(int) (sorted.length * 0.99)] / 1e3,
+                          sorted[sorted.length - 1] / 1e3);
+        System.out.println(session);
+    }
+
+    /** Aplica un cambio al azar; devuelve su duración (cambio + reparación) en ns. */
+    private static long perturb(SolverSession session, Random rand) {
+        Instance inst = session.instance();
+        ChallengeSolution wave = session.wave();
+        boolean onWave = wave != null && rand.nextBoolean();
+        int kind = rand.nextInt(5);                     // 2/5 altas, 2/5 bajas, 1/5 stock
+        if (kind < 2) {
+            int o = liveOrder(inst, rand);
+            if (o >= 0) {
+                int   from  = inst.orderStart[o];
+                int[] items = Arrays.copyOfRange(inst.orderItem, from, inst.orderStart[o + 1]);
+                int[] qty   = new int[items.length];
+                for (int k = 0; k < qty.length; k++)
+                    qty[k] = 1 + rand.nextInt(2 * Math.max(1, inst.orderQty[from + k]));
+                long t = System.nanoTime();
+                session.addOrder(items, qty);
+                return System.nanoTime() - t;
+            }
+        } else if (kind < 4) {
+            int o = onWave ? pick(wave.orders(), rand) : liveOrder(inst, rand);
+            if (o >= 0) {
+                long t = System.nanoTime();
+                session.cancelOrder(o);
+                return System.nanoTime() - t;
+            }
+        }
+        int a = onWave ? pick(wave.aisles(), rand) : stockedAisle(inst, rand);
+        if (inst.aisleStart[a + 1] == inst.aisleStart[a]) a = stockedAisle(inst, rand);
+        int k = inst.aisleStart[a] + rand.nextInt(inst.aisleStart[a + 1] - inst.aisleStart[a]);
+        int qty = rand.nextInt(2 * inst.aisleQty[k] + 1);           // entre agotar y duplicar
+        long t = System.nanoTime();
+        session.updateAisleStock(a, inst.aisleItem[k], qty);
+        return System.nanoTime() - t;
+    }
+
+    /** Primera orden con unidades desde una posición al azar, o -1 si están todas canceladas. */
+    private static int liveOrder(Instance inst, Random rand) {
+        int from = rand.nextInt(inst.nOrders);
+        for (int i = 0; i < inst.nOrders; i++) {
+            int o = (from + i) % inst.nOrders;
+            if (inst.orderUnits[o] > 0) return o;
+        }
+        return -1;
+    }
+
+    /** Primer pasillo con alguna línea de stock desde una posición al azar. */
+    private static int stockedAisle(Instance inst, Random rand) {
+        int from = rand.nextInt(inst.nAisles);
+        for (int i = 0; i < inst.nAisles; i++) {
+            int a = (from + i) % inst.nAisles;
+            if (inst.aisleStart[a + 1] > inst.aisleStart[a]) return a;
+        }
+        throw new IllegalStateException("no aisle has stock lines");
+    }
+
+    private static int pick(Set<Integer> set, Random rand) {
+        int idx = rand.nextInt(set.size());
+        for (int x : set) if (idx-- == 0) return x;
+        throw new IllegalStateException();
+    }
+
+    /** La ola vigente tiene que ser factible sobre la instancia vigente. */
+    private static void verify(SolverSession session, SolverConfig config) {
+        ChallengeSolution wave = session.wave();
+        if (wave != null && !new ChallengeSolver(session.instance(), config).isSolutionFeasible(wave))
+            throw new IllegalStateException("infeasible wave after a change: " + session);
+    }
+
+    /** Ratio de una resolución desde cero con el mismo plazo. */
+    private static double coldRatio(Instance inst, SolverConfig config, long ms) {
+        Presolve presolve = Presolve.run(inst);
+        ChallengeSolver solver = new ChallengeSolver(presolve.reduced, config);
+        solver.verbose(false);
+        ChallengeSolution sol = inst.pending(presolve.restore(
+                solver.solve(CancelToken.until(System.currentTimeMillis() + ms))));
+        ChallengeSolver check = new ChallengeSolver(inst, config);
+        return sol != null && check.isSolutionFeasible(sol) ? check.computeObjectiveFunction(sol) : 0.0;
+    }
+}
@@ -0,0 +1,124 @@
+package org.sbpo2025.challenge;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escalado con el tamaño sobre instancias de {@link InstanceGenerator}
+ * ({@link InstanceGenerator.Spec#scaled}, misma semilla en todos los
+ * tamaños). Por tamaño mide:
+ * <ul>
+ *   <li>lectura ({@link InstanceParser#parse}, la de {@link Challenge#readInput});</li>
+ *   <li>coberturas greedy por segundo ({@link ChallengeSolver#greedyAddAislesForOrder}
+ *       desde cero, rotando por las órdenes durante {@link #COVER_MS} ms);</li>
+ *   <li>una resolución completa (presolve incluido, un worker) con
+ *       {@code --time-limit}: iteraciones por segundo de cada fase según los
+ *       contadores de {@link Telemetry}, tiempo hasta la primera ola factible
+ *       (primera mejora del incumbente; "-" si no la hay) y ratio final;</li>
+ *   <li>pico de heap: suma de los picos de los pools de heap, puestos a cero
+ *       tras un GC antes de leer.</li>
+ * </ul>
+ * Un crecimiento superlineal de la lectura o una caída brusca de iter/s entre
+ * dos tamaños señala un cambio de complejidad.
+ *
+ * Uso: {@code java -Xmx8g -cp target/benchmarks.jar org.sbpo2025.challenge.ScalingBenchmark
+ * [--sizes 10000,50000,100000,200000] [--time-limit 30] [--seed 1] [--dir <tmp>]}
+ */
+public final class ScalingBenchmark {
+    private static final long     COVER_MS = 1_000;
+    private static final String[] PHASES   = {"GRASP", "AISLES", "RATIO", "RELINK", "ANNEAL"};
+
+    private ScalingBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes  = {10_000, 50_000, 100_000, 200_000};
+        long  limitS = 30, seed = 1;
+        Path  dir    = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--sizes"      -> sizes  = Arrays.stream(args[i + 1].split(","))
+                                                                .mapToInt(Integer::parseInt).toArray();
+                case "--time-limit" -> limitS = Long.parseLong(args[i + 1]);
+                case "--seed"       -> seed   = Long.parseLong(args[i + 1]);
+                case "--dir"        -> dir    = Path.of(args[i + 1]);
+                default -> throw new IllegalArgumentException("unknown option: " + args[i]);
+            }
+        }
+        if (dir == null) dir = Files.createTempDirectory("scaling");
+
+        System.out.printf("%8s %8s %6s %9s %8s %9s %11s", "orders", "items", "aisles", "nnz", "MB", "parse ms", "cover/s");
+        for (String p : PHASES) System.out.printf(" %9s", p + "/s");
+        System.out.printf(" %9s %10s %9s%n", "1st ms", "ratio", "heap MB");
+        for (int n : sizes) {
+            InstanceGenerator.Spec spec = InstanceGenerator.Spec.scaled(n, seed);
+            Path file = dir.resolve("scaling_" + n + ".txt");
+            InstanceGenerator.Summary summary = InstanceGenerator.write(spec, file);
+            try {
+                run(spec, summary, file, limitS * 1000);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static void run(InstanceGenerator.Spec spec, InstanceGenerator.Summary summary, Path file, long limitMs)
+            throws IOException {
+        List<MemoryPoolMXBean> heap = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            if (pool.getType() == MemoryType.HEAP) heap.add(pool);
+        System.gc();
+        heap.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long t0 = System.nanoTime();
+        Instance inst = InstanceParser.parse(file);
+        double parseMs = (System.nanoTime() - t0) / 1e6;
+
+        SolverConfig config = SolverConfig.builder().workers(1).checkpointMs(0)
+                                          .timeLimitMs(limitMs).stallMs(limitMs).build();
+        double cover = coversPerSecond(inst, new ChallengeSolver(inst, config));
+
+        Presolve presolve = config.presolve ? Presolve.run(inst) : Presolve.identity(inst);
+        ChallengeSolver solver = new ChallengeSolver(presolve.reduced, config);
+        solver.verbose(false);
+        AtomicLong first = new AtomicLong(-1);
+        long start = System.currentTimeMillis();
+        solver.onImprovement(e -> first.compareAndSet(-1, System.currentTimeMillis() - start));
+        ChallengeSolution sol = presolve.restore(solver.solve(CancelToken.until(start + limitMs)));
+        ChallengeSolver check = new ChallengeSolver(inst, config);
+        double ratio = sol != null && check.isSolutionFeasible(sol) ? check.computeObjectiveFunction(sol) : 0.0;
+
+        long peak = 0;
+        for (MemoryPoolMXBean pool : heap) peak += pool.getPeakUsage().getUsed();
+
+        System.out.printf("%8d %8d %6d %9d %8.1f %9.1f %11.0f", spec.orders(), spec.items(), spec.aisles(),
+                          summary.nonZeros(), Files.size(file) / 1e6, parseMs, cover);
+        Map<String, long[]> counters = solver.telemetry.counters();
+        for (String p : PHASES) {
+            long[] c = counters.get(p);
+            System.out.printf(" %9.1f", c == null || c[2] == 0 ? 0.0 : c[0] * 1000.0 / c[2]);
+        }
+        System.out.printf(" %9s %10.4f %9d%n", first.get() < 0 ? "-" : Long.toString(first.get()), ratio, peak >> 20);
+    }
+
+    /** Coberturas greedy de una orden desde un conjunto vacío, rotando por todas, durante {@link #COVER_MS}. */
+    private static double coversPerSecond(Instance inst, ChallengeSolver solver) {
+        AisleSupply none  = new AisleSupply(inst);
+        IntList     added = new IntList();
+        long calls = 0, t0 = System.nanoTime(), end = t0 + COVER_MS * 1_000_000;
+        for (int o = 0; System.nanoTime() < end; o = o + 1 == inst.nOrders ? 0 : o + 1, calls++) {
+            added.clear();
+            solver.greedyAddAislesForOrder(o, none, added);
+        }
+        return calls * 1e9 / (System.nanoTime() - t0);
+    }
+}
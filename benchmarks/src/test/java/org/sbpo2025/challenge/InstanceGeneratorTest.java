@@ -0,0 +1,85 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link InstanceGenerator}: semilla reproducible, fichero legible y LB alcanzable. */
+class InstanceGeneratorTest {
+    private Path dir;
+
+    @BeforeEach
+    void createDir() throws IOException {
+        dir = Files.createTempDirectory("generator");
+    }
+
+    @AfterEach
+    void deleteDir() throws IOException {
+        try (Stream<Path> s = Files.walk(dir)) {
+            s.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    void theSameSpecWritesTheSameFile() throws IOException {
+        InstanceGenerator.Spec spec = InstanceGenerator.Spec.scaled(2_000, 7);
+        Path a = dir.resolve("a.txt"), b = dir.resolve("b.txt"), c = dir.resolve("c.txt");
+        assertEquals(InstanceGenerator.write(spec, a), InstanceGenerator.write(spec, b));
+        assertEquals(-1L, Files.mismatch(a, b));
+
+        InstanceGenerator.write(InstanceGenerator.Spec.scaled(2_000, 8), c);
+        assertNotEquals(-1L, Files.mismatch(a, c));
+    }
+
+    @Test
+    void theSummaryMatchesWhatTheParserReads() throws IOException {
+        InstanceGenerator.Spec spec = InstanceGenerator.Spec.scaled(5_000, 1);
+        Path file = dir.resolve("i.txt");
+        InstanceGenerator.Summary sum = InstanceGenerator.write(spec, file);
+        Instance inst = InstanceParser.parse(file);
+
+        assertEquals(spec.orders(), inst.nOrders);
+        assertEquals(spec.items(), inst.nItems);
+        assertEquals(spec.aisles(), inst.nAisles);
+        assertEquals(sum.units(), inst.totalUnitsRequested);
+        assertEquals(sum.nonZeros(), (long) inst.orderItem.length + inst.aisleItem.length);
+        assertEquals(sum.lb(), inst.waveSizeLB);
+        assertEquals(sum.ub(), inst.waveSizeUB);
+        for (int q : inst.aisleQty) assertTrue(q > 0, "empty stock entry");
+    }
+
+    /** Con las cotas por defecto la LB no pasa de la ola testigo, así que hay solución. */
+    @Test
+    void theDefaultBoundsLeaveAFeasibleWave() throws IOException {
+        for (int orders : new int[]{1_000, 20_000}) {
+            Path file = dir.resolve("scaled_" + orders + ".txt");
+            InstanceGenerator.Summary sum = InstanceGenerator.write(InstanceGenerator.Spec.scaled(orders, 1), file);
+            assertTrue(sum.lb() <= sum.witness(), orders + ": lb " + sum.lb() + " > witness " + sum.witness());
+            assertTrue(sum.witness() <= sum.ub(), orders + ": witness over ub");
+
+            Instance inst = InstanceParser.parse(file);
+            ChallengeSolver solver = new ChallengeSolver(inst, new SolverConfig(1));
+            solver.verbose(false);
+            ChallengeSolution sol = solver.solve(CancelToken.until(System.currentTimeMillis() + 3_000));
+            assertTrue(sol != null && solver.isSolutionFeasible(sol), orders + ": no feasible wave");
+        }
+    }
+
+    @Test
+    void specRejectsEmptySizes() {
+        assertThrows(IllegalArgumentException.class, () -> new InstanceGenerator.Spec(0, 1, 1, 1.5, 1, 0, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new InstanceGenerator.Spec(1, 1, 1, 0.5, 1, 0, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new InstanceGenerator.Spec(1, 1, 1, 1.5, -1, 0, 0, 1));
+    }
+}
@@ -0,0 +1,445 @@
+package org.sbpo2025.challenge;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Búsqueda en el espacio de pasillos, sin CPLEX.
+ *
+ * Con el conjunto de pasillos fijo (≤ 20), elegir órdenes es una mochila
+ * multidimensional acotada: maximizar unidades ≤ {@code waveSizeUB} con el
+ * suministro de cada ítem como capacidad. {@link #evaluate()} la resuelve con
+ * un greedy por unidades más una pasada de intercambios 1-1, restringido a las
+ * órdenes que esos pasillos pueden servir por completo. Los conjuntos se
+ * enumeran (semilla greedy) y se perturban (añadir / quitar / cambiar un
+ * pasillo); cada valor se guarda en una caché indexada por la firma Zobrist
+ * del conjunto.
+ *
+ * No es thread-safe: una instancia por hilo.
+ */
+final class AisleSetSearch {
+    private static final int CACHE_BITS = 16;
+    private static final int SWAP_BUDGET = 4_000;      // comprobaciones de intercambio por evaluación
+
+    private final Instance inst;
+    private final Random   rand;
+    private final long[]   zobrist;
+
+    /* conjunto actual */
+    private final boolean[] inSet;
+    private final int[]     setPos;
+    private final IntList   set = new IntList(WaveState.MAX_AISLES + 1);
+    private final int[]     supply;
+    private long            signature;
+
+    /* memoria de trabajo del empaquetado (marcas por sello, sin limpiar) */
+    private final int[]  itemStamp;
+    private final int[]  remaining;
+    private final int[]  orderStamp;
+    private final int[]  hits;
+    private final int[]  packStamp;
+    private final long[] sortKeys;
+    private final IntList touched = new IntList();
+    private final IntList cand    = new IntList();
+    private final IntList packed  = new IntList();
+    private int stamp;
+
+    /* caché con pérdida: firma → (unidades << 8 | pasillos usados) y cobertura parcial */
+    private final long[]   cacheKey     = new long[1 << CACHE_BITS];
+    private final long[]   cacheVal     = new long[1 << CACHE_BITS];
+    private final double[] cachePartial = new double[1 << CACHE_BITS];
+    private double partial;              // Σ unidades × fracción de ítems cubiertos (última evaluación)
+
+    private ElitePool elite;              // recibe los óptimos locales (opcional)
+
+    long evaluations;
+    long cacheHits;
+    long improvements;
+
+    AisleSetSearch(Instance inst, Random rand) {
+        this.inst    = inst;
+        this.rand    = rand;
+        this.zobrist = new long[inst.nAisles];
+        for (int a = 0; a < inst.nAisles; a++) zobrist[a] = rand.nextLong() | 1L;
+        this.inSet      = new boolean[inst.nAisles];
+        this.setPos     = new int[inst.nAisles];
+        this.supply     = new int[inst.nItems];
+        this.itemStamp  = new int[inst.nItems];
+        this.remaining  = new int[inst.nItems];
+        this.orderStamp = new int[inst.nOrders];
+        this.hits       = new int[inst.nOrders];
+        this.packStamp  = new int[inst.nOrders];
+        this.sortKeys   = new long[inst.nOrders];
+    }
+
+    /** Ofrece a {@code pool} cada óptimo local antes de perturbar y el conjunto final de cada llamada a {@link #run}. */
+    void feed(ElitePool pool) {
+        this.elite = pool;
+    }
+
+    /* ─────────────────────────── Búsqueda ─────────────────────────── */
+    /**
+     * Búsqueda local iterada en el espacio de pasillos hasta que se cancele {@code token}.
+     * Arranca de {@code seed} (o de una semilla greedy si es null) y publica
+     * en {@code incumbent} cada mejora.
+     */
+    void run(Set<Integer> seed, CancelToken token, Incumbent incumbent) {
+        if (seed != null && !seed.isEmpty() && seed.size() <= WaveState.MAX_AISLES) {
+            clear();
+            for (int a : seed) add(a);
+        } else {
+            greedySeed(token);
+            if (score(evaluate()) < 0) orderSeed(token);
+        }
+        double cur = score(evaluate());
+        int[]  best = set.toArray();
+        double bestR = cur;
+        publish(cur, incumbent);
+
+        int stall = 0;
+        while (!token.isCancelled()) {
+            int  kind = rand.nextInt(3);
+            int  out  = -1, in = -1;
+            if (set.size() > 1 && (kind == 0 || set.size() == WaveState.MAX_AISLES)) {
+                out = set.get(rand.nextInt(set.size()));
+                if (kind != 0) in = randomOutside();
+            } else {
+                in = randomOutside();
+                if (kind == 2 && set.size() > 1) out = set.get(rand.nextInt(set.size()));
+            }
+            if (in < 0 && out < 0) break;
+            if (out >= 0) remove(out);
+            if (in  >= 0) add(in);
+            double r = score(evaluate());
+            if (r >= cur) {
+                if (r > cur) stall = 0; else stall++;
+                cur = r;
+                if (r > bestR) {
+                    bestR = r;
+                    best  = set.toArray();
+                    publish(r, incumbent);
+                }
+            } else {
+                if (in  >= 0) remove(in);
+                if (out >= 0) add(out);
+                stall++;
+            }
+            if (stall > 4 * inst.nAisles) {          // perturbación desde el mejor
+                feedElite(cur);
+                clear();
+                for (int a : best) add(a);
+                for (int k = 0; k < 2 && set.size() > 1; k++) {
+                    remove(set.get(rand.nextInt(set.size())));
+                    int b = randomOutside();
+                    if (b >= 0) add(b);
+                }
+                cur   = score(evaluate());
+                stall = 0;
+            }
+        }
+        feedElite(cur);
+    }
+
+    private void feedElite(double r) {
+        if (elite == null || r <= 0) return;
+        ChallengeSolution local = solution();
+        if (local != null) elite.offer(local, r);
+    }
+
+    /* ───────────────────────── Path relinking ───────────────────────── */
+    /**
+     * Camino de {@code from} a {@code to} en el espacio de pasillos: en cada
+     * paso se aplica el mejor movimiento entre añadir un pasillo de
+     * {@code to} \ {@code from} y quitar uno de {@code from} \ {@code to}
+     * (re-empaquetando las órdenes), y se devuelve el mejor conjunto
+     * intermedio con sus órdenes, o null si ninguno alcanza la LB. Los
+     * intermedios mezclan los pasillos comunes de ambas olas con parte de los
+     * propios de cada una.
+     */
+    ChallengeSolution relink(int[] from, int[] to, CancelToken token) {
+        clear();
+        for (int a : from) add(a);
+        IntList adds = new IntList(), drops = new IntList();
+        for (int a : to) if (!inSet[a]) adds.add(a);
+        for (int a : from) if (Arrays.binarySearch(to, a) < 0) drops.add(a);
+
+        double bestR = 0;
+        int[]  best  = null;
+        while (adds.size() + drops.size() > 1 && !token.isCancelled()) {   // el último paso llega a {@code to}
+            int    move  = -1;
+            double moveR = Double.NEGATIVE_INFINITY;
+            if (set.size() < WaveState.MAX_AISLES)
+                for (int j = 0; j < adds.size(); j++) {
+                    add(adds.get(j));
+                    double r = score(evaluate());
+                    remove(adds.get(j));
+                    if (r > moveR) { moveR = r; move = j; }
+                }
+            if (set.size() > 1)
+                for (int j = 0; j < drops.size(); j++) {
+                    remove(drops.get(j));
+                    double r = score(evaluate());
+                    add(drops.get(j));
+                    if (r > moveR) { moveR = r; move = adds.size() + j; }
+                }
+            if (move < 0) break;
+            if (move < adds.size()) add(removeAt(adds, move));
+            else remove(removeAt(drops, move - adds.size()));
+            if (moveR > bestR) { bestR = moveR; best = set.toArray(); }
+        }
+        if (best == null) return null;
+        clear();
+        for (int a : best) add(a);
+        return solution();
+    }
+
+    private static int removeAt(IntList list, int idx) {
+        int v = list.get(idx), last = list.pop();
+        if (idx < list.size()) list.set(idx, last);
+        return v;
+    }
+
+    /** Semilla: mejor pasillo individual y luego adiciones greedy mientras mejore el ratio. */
+    private void greedySeed(CancelToken token) {
+        clear();
+        double cur = -1;
+        while (set.size() < WaveState.MAX_AISLES && !token.isCancelled()) {
+            int bestA = -1;
+            double bestR = cur;
+            for (int a = 0; a < inst.nAisles; a++) {
+                if (inSet[a]) continue;
+                add(a);
+                double r = score(evaluate());
+                remove(a);
+                if (r > bestR) { bestR = r; bestA = a; }
+            }
+            if (bestA < 0) break;
+            add(bestA);
+            cur = bestR;
+        }
+    }
+
+    /**
+     * Semilla alternativa dirigida por órdenes, para instancias donde ninguna
+     * orden queda cubierta con pocos pasillos: añade la orden con más unidades
+     * por pasillo nuevo hasta alcanzar la LB, y toma sus pasillos.
+     */
+    private void orderSeed(CancelToken token) {
+        WaveState w = new WaveState(inst);
+        while (w.units() < inst.waveSizeLB && !token.isCancelled()) {
+            int bestO = -1;
+            double bestV = -1;
+            for (int o = 0; o < inst.nOrders; o++) {
+                if (w.contains(o) || w.units() + inst.orderUnits[o] > inst.waveSizeUB) continue;
+                int m = w.mark();
+                boolean ok = w.addOrder(o);
+                int opened = w.numAisles();
+                w.rollback(m);
+                if (!ok || opened > WaveState.MAX_AISLES) continue;
+                double v = inst.orderUnits[o] / (1.0 + opened - w.numAisles());
+                if (v > bestV) { bestV = v; bestO = o; }
+            }
+            if (bestO < 0) break;
+            w.addOrder(bestO);
+            w.commit();
+        }
+        if (w.numAisles() == 0) return;
+        clear();
+        for (int idx = 0; idx < w.numAisles(); idx++) add(w.aisle(idx));
+    }
+
+    private void publish(double r, Incumbent incumbent) {
+        if (r <= 0 || r <= incumbent.ratio()) return;
+        ChallengeSolution sol = solution();
+        if (sol != null && incumbent.offer(sol, r)) improvements++;
+    }
+
+    /* ─────────────────────── Conjunto de pasillos ─────────────────────── */
+    void clear() {
+        while (!set.isEmpty()) remove(set.get(set.size() - 1));
+    }
+
+    void add(int a) {
+        if (inSet[a]) return;
+        inSet[a]  = true;
+        setPos[a] = set.size();
+        set.add(a);
+        signature ^= zobrist[a];
+        for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1]; k++)
+            supply[inst.aisleItem[k]] += inst.aisleQty[k];
+    }
+
+    void remove(int a) {
+        if (!inSet[a]) return;
+        int pos  = setPos[a];
+        int last = set.pop();
+        if (pos < set.size()) { set.set(pos, last); setPos[last] = pos; }
+        inSet[a] = false;
+        signature ^= zobrist[a];
+        for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1]; k++)
+            supply[inst.aisleItem[k]] -= inst.aisleQty[k];
+    }
+
+    private int randomOutside() {
+        if (set.size() >= inst.nAisles) return -1;
+        int a;
+        do { a = rand.nextInt(inst.nAisles); } while (inSet[a]);
+        return a;
+    }
+
+    /* ─────────────────────────── Evaluación ─────────────────────────── */
+    /**
+     * Puntuación de búsqueda: el ratio si alcanza la LB; si no, un valor en
+     * [-1, 0) que crece con las unidades empaquetadas y, en segundo término,
+     * con la cobertura parcial de órdenes (guía el crecimiento del conjunto
+     * cuando ninguna orden nueva queda cubierta del todo con un solo pasillo).
+     */
+    private double score(long val) {
+        int units = (int) (val >>> 8);
+        if (units > 0 && units >= inst.waveSizeLB) return ratio(val);
+        double lb = Math.max(1, inst.waveSizeLB);
+        return -1.0 + (units + 0.1 * Math.min(partial, lb)) / (1.1 * lb);
+    }
+
+    /** Ratio de un valor codificado, o 0 si el conjunto no alcanza la LB. */
+    private double ratio(long val) {
+        int units = (int) (val >>> 8), used = (int) (val & 0xFF);
+        if (units <= 0 || units < inst.waveSizeLB || used == 0) return 0.0;
+        return units / (double) used;
+    }
+
+    /** Empaqueta órdenes en el conjunto actual (con caché); devuelve unidades << 8 | pasillos usados. */
+    long evaluate() {
+        if (set.isEmpty()) return 0;
+        int slot = (int) (signature >>> (64 - CACHE_BITS));
+        if (cacheKey[slot] == signature) {
+            cacheHits++;
+            partial = cachePartial[slot];
+            return cacheVal[slot];
+        }
+        long val = pack();
+        cacheKey[slot]     = signature;
+        cacheVal[slot]     = val;
+        cachePartial[slot] = partial;
+        return val;
+    }
+
+    /** Órdenes empaquetadas en el conjunto actual, con sus pasillos usados, o null si no alcanza la LB. */
+    ChallengeSolution solution() {
+        long val = pack();
+        if (ratio(val) <= 0) return null;
+        Set<Integer> so = new HashSet<>(packed.size() * 2);
+        for (int idx = 0; idx < packed.size(); idx++) so.add(packed.get(idx));
+        Set<Integer> sa = new HashSet<>();
+        for (int idx = 0; idx < set.size(); idx++)
+            if (isUsed(set.get(idx))) sa.add(set.get(idx));
+        return new ChallengeSolution(so, sa);
+    }
+
+    private long pack() {
+        evaluations++;
+        int st = ++stamp;
+        touched.clear(); cand.clear(); packed.clear();
+
+        /* 1) ítems ofrecidos por el conjunto */
+        for (int idx = 0; idx < set.size(); idx++) {
+            int a = set.get(idx);
+            for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1]; k++) {
+                int i = inst.aisleItem[k];
+                if (itemStamp[i] == st) continue;
+                itemStamp[i] = st;
+                remaining[i] = supply[i];
+                touched.add(i);
+            }
+        }
+
+        /* 2) órdenes que el conjunto cubre por completo (y cobertura parcial) */
+        double part = 0;
+        for (int t = 0; t < touched.size(); t++) {
+            int i = touched.get(t), s = supply[i];
+            for (int p = inst.itemOrderStart[i]; p < inst.itemOrderStart[i + 1]; p++) {
+                if (inst.itemOrderQty[p] > s) continue;
+                int o = inst.itemOrder[p];
+                if (orderStamp[o] != st) { orderStamp[o] = st; hits[o] = 0; }
+                int len = inst.orderLength(o);
+                part += inst.orderUnits[o] / (double) len;
+                if (++hits[o] == len && inst.orderUnits[o] > 0 && inst.orderUnits[o] <= inst.waveSizeUB) cand.add(o);
+            }
+        }
+        partial = part;
+
+        /* 3) greedy por unidades descendentes */
+        int c = cand.size();
+        for (int j = 0; j < c; j++) {
+            int o = cand.get(j);
+            sortKeys[j] = ((long) (Integer.MAX_VALUE - inst.orderUnits[o]) << 32) | o;
+        }
+        Arrays.sort(sortKeys, 0, c);
+        long units = 0;
+        for (int j = 0; j < c; j++) {
+            int o = (int) sortKeys[j];
+            if (units + inst.orderUnits[o] > inst.waveSizeUB || !fits(o)) continue;
+            take(o, st);
+            units += inst.orderUnits[o];
+        }
+
+        /* 4) reparación: intercambios 1-1 que suben unidades (cubre el caso < LB) */
+        int budget = SWAP_BUDGET;
+        for (int j = 0; j < c && budget > 0 && units < inst.waveSizeUB; j++) {
+            int in = (int) sortKeys[j];
+            if (packStamp[in] == st) continue;
+            for (int idx = packed.size() - 1; idx >= 0 && budget-- > 0; idx--) {
+                int out = packed.get(idx);
+                int gain = inst.orderUnits[in] - inst.orderUnits[out];
+                if (gain <= 0 || units + gain > inst.waveSizeUB) continue;
+                release(out);
+                if (fits(in)) {
+                    packStamp[out] = 0;
+                    packed.set(idx, in);
+                    packStamp[in] = st;
+                    consume(in);
+                    units += gain;
+                    break;
+                }
+                consume(out);
+            }
+        }
+
+        int used = 0;
+        for (int idx = 0; idx < set.size(); idx++) if (isUsed(set.get(idx))) used++;
+        return (units << 8) | used;
+    }
+
+    private boolean fits(int o) {
+        for (int k = inst.orderStart[o]; k < inst.orderStart[o + 1]; k++)
+            if (remaining[inst.orderItem[k]] < inst.orderQty[k]) return false;
+        return true;
+    }
+
+    private void take(int o, int st) {
+        consume(o);
+        packStamp[o] = st;
+        packed.add(o);
+    }
+
+    private void consume(int o) {
+        for (int k = inst.orderStart[o]; k < inst.orderStart[o + 1]; k++)
+            remaining[inst.orderItem[k]] -= inst.orderQty[k];
+    }
+
+    private void release(int o) {
+        for (int k = inst.orderStart[o]; k < inst.orderStart[o + 1]; k++)
+            remaining[inst.orderItem[k]] += inst.orderQty[k];
+    }
+
+    /** Un pasillo se usa si alguno de sus ítems tiene demanda en el empaquetado vigente. */
+    private boolean isUsed(int a) {
+        for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1]; k++) {
+            int i = inst.aisleItem[k];
+            if (itemStamp[i] == stamp && remaining[i] < supply[i]) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,87 @@
+package org.sbpo2025.challenge;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Conjunto de pasillos abiertos con un contador de suministro por ítem que se
+ * mantiene al abrir cada pasillo. Junto con la transpuesta ordenada de
+ * {@link Instance}, permite cubrir una orden en O(ítems de la orden × pocos
+ * pasillos) en vez de recorrer todos los pasillos por ítem.
+ *
+ * No es thread-safe: cada hilo usa su propia instancia y la recicla con
+ * {@link #clear()}.
+ */
+final class AisleSupply {
+    private final Instance inst;
+    private final int[]     supply;   // suministro por ítem de los pasillos abiertos
+    private final boolean[] open;
+    private final boolean[] picked;   // pasillos elegidos durante greedyCover
+    private final IntList   aisles = new IntList();
+
+    AisleSupply(Instance inst) {
+        this.inst   = inst;
+        this.supply = new int[inst.nItems];
+        this.open   = new boolean[inst.nAisles];
+        this.picked = new boolean[inst.nAisles];
+    }
+
+    int size()                { return aisles.size(); }
+    boolean isEmpty()         { return aisles.isEmpty(); }
+    boolean contains(int a)   { return open[a]; }
+    int supply(int item)      { return supply[item]; }
+    int aisle(int idx)        { return aisles.get(idx); }
+
+    void open(int a) {
+        if (open[a]) return;
+        open[a] = true;
+        aisles.add(a);
+        for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1]; k++)
+            supply[inst.aisleItem[k]] += inst.aisleQty[k];
+    }
+
+    void openAll(IntList list) {
+        for (int k = 0; k < list.size(); k++) open(list.get(k));
+    }
+
+    /** Vacía el conjunto en O(suministro de los pasillos abiertos). */
+    void clear() {
+        for (int idx = 0; idx < aisles.size(); idx++) {
+            int a = aisles.get(idx);
+            open[a] = false;
+            for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1]; k++)
+                supply[inst.aisleItem[k]] -= inst.aisleQty[k];
+        }
+        aisles.clear();
+    }
+
+    /**
+     * Greedy de cobertura de una orden sin modificar el conjunto: para cada ítem
+     * cuyo suministro actual no alcanza, propone el mejor pasillo todavía no
+     * abierto ni propuesto. Reproduce la regla original (la cobertura se mide
+     * sólo contra los pasillos abiertos) y deja los pasillos propuestos en
+     * {@code out}.
+     */
+    void greedyCover(int order, IntList out) {
+        int from = out.size();
+        for (int k = inst.orderStart[order]; k < inst.orderStart[order + 1]; k++) {
+            int item = inst.orderItem[k], qty = inst.orderQty[k];
+            if (qty <= 0 || supply[item] >= qty) continue;
+            for (int p = inst.itemAisleStart[item]; p < inst.itemAisleStart[item + 1]; p++) {
+                if (inst.itemAisleQty[p] <= 0) break;
+                int a = inst.itemAisle[p];
+                if (open[a] || picked[a]) continue;
+                picked[a] = true;
+                out.add(a);
+                break;
+            }
+        }
+        for (int idx = from; idx < out.size(); idx++) picked[out.get(idx)] = false;
+    }
+
+    Set<Integer> toSet() {
+        Set<Integer> s = new HashSet<>(aisles.size() * 2);
+        for (int idx = 0; idx < aisles.size(); idx++) s.add(aisles.get(idx));
+        return s;
+    }
+}
@@ -0,0 +1,229 @@
+package org.sbpo2025.challenge;
+
+import java.util.Random;
+
+/**
+ * Recocido simulado sobre un {@link WaveState}, siempre dentro de olas
+ * factibles. Movimientos sobre órdenes (añadir, quitar, intercambiar) y sobre
+ * pasillos (cambiar uno abierto por otro que ofrezca alguno de sus ítems;
+ * cerrar uno soltando las órdenes que dejan de estar cubiertas; abrir uno y
+ * meter las órdenes que caben sin abrir más). Órdenes y pasillos se muestrean
+ * en O(1) de los índices primitivos del estado y de la instancia (ver
+ * {@link #sampleOutside()}), cada movimiento se evalúa de forma incremental y
+ * se deshace con el diario, y el bucle interno no reserva memoria salvo al
+ * publicar una mejora en el incumbente.
+ *
+ * Se acepta un empeoramiento relativo δ con probabilidad exp(−δ / T); T baja
+ * geométricamente de {@link #T_START} a {@link #T_END} a lo largo de cada
+ * llamada a {@link #run} (una rebanada del scheduler). No es thread-safe: un
+ * recocedor por hilo.
+ */
+final class Annealer {
+    static final double T_START = 0.002;     // −0,2 % aceptado con prob. 1/e al empezar
+    static final double T_END   = 0.00002;
+    private static final int SAMPLE_TRIES = 32;
+    private static final int CLOCK_EVERY  = 64;   // movimientos entre consultas del reloj
+    private static final int FILL_TRIES   = 256;  // órdenes probadas al rellenar tras un cambio de pasillo
+
+    private final Instance inst;
+    private final Random   rand;
+    private WaveState      state;
+    private double         best;            // mejor ratio visto por este recocedor
+
+    long moves;
+    long accepted;
+    long improvements;
+
+    Annealer(Instance inst, Random rand) {
+        this.inst = inst;
+        this.rand = rand;
+    }
+
+    double ratio() {
+        return state != null ? state.ratio() : 0.0;
+    }
+
+    /** Ola actual, o null si no hay estado. */
+    ChallengeSolution solution() {
+        return state != null ? state.toSolution() : null;
+    }
+
+    /** Reinicia desde {@code sol}; false si no es una ola factible. */
+    boolean reset(ChallengeSolution sol) {
+        WaveState s = new WaveState(inst);
+        if (!s.load(sol.orders(), sol.aisles()) || !s.isFeasible()) return false;
+        state = s;
+        best  = Math.max(best, s.ratio());
+        return true;
+    }
+
+    /**
+     * Recuece hasta que se cancele {@code token}, enfriando a lo largo de su
+     * plazo, y ofrece al incumbente cada ola que lo mejora.
+     */
+    void run(CancelToken token, Incumbent incumbent) {
+        if (state == null) return;
+        long   start = System.currentTimeMillis();
+        double span  = Math.max(1, token.remainingMillis());
+        double temp  = T_START;
+        for (long n = 0; ; n++) {
+            if (n % CLOCK_EVERY == 0) {
+                if (token.isCancelled()) return;
+                double t = Math.min(1.0, (System.currentTimeMillis() - start) / span);
+                temp = T_START * Math.pow(T_END / T_START, t);
+            }
+            if (!move(temp)) continue;
+            double r = state.ratio();
+            if (r > best) {
+                best = r;
+                if (r > incumbent.ratio() && incumbent.offer(state.toSolution(), r)) improvements++;
+            }
+        }
+    }
+
+    /** Un movimiento al azar; true si se aceptó. */
+    boolean move(double temp) {
+        moves++;
+        double before = state.ratio();
+        int m = state.mark();
+        boolean applied = switch (rand.nextInt(20)) {
+            case 0, 1, 2, 3, 4      -> add();
+            case 5, 6, 7            -> drop();
+            case 8, 9, 10, 11, 12   -> swap();
+            case 13, 14             -> replaceAisle();
+            case 15, 16             -> closeAisle();
+            default                 -> openAisle();
+        };
+        if (applied && state.isFeasible() && accept(state.ratio(), before, temp)) {
+            state.commit();
+            accepted++;
+            return true;
+        }
+        state.rollback(m);
+        return false;
+    }
+
+    private boolean accept(double after, double before, double temp) {
+        if (after >= before) return true;
+        double delta = (before - after) / before;
+        return rand.nextDouble() < Math.exp(-delta / temp);
+    }
+
+    /* ─────────────────────────── Movimientos ─────────────────────────── */
+    private boolean add() {
+        int o = sampleOutside();
+        return o >= 0 && state.units() + inst.orderUnits[o] <= inst.waveSizeUB && state.addOrder(o);
+    }
+
+    private boolean drop() {
+        if (state.numOrders() < 2) return false;
+        int o = state.order(rand.nextInt(state.numOrders()));
+        if (state.units() - inst.orderUnits[o] < inst.waveSizeLB) return false;
+        state.removeOrder(o);
+        return true;
+    }
+
+    private boolean swap() {
+        int in = sampleOutside();
+        if (in < 0) return false;
+        int out = state.order(rand.nextInt(state.numOrders()));
+        long units = state.units() - inst.orderUnits[out] + inst.orderUnits[in];
+        if (units < inst.waveSizeLB || units > inst.waveSizeUB) return false;
+        state.removeOrder(out);
+        return state.addOrder(in);
+    }
+
+    /** Cierra un pasillo abierto y abre otro que ofrezca uno de sus ítems. */
+    private boolean replaceAisle() {
+        int a    = state.aisle(rand.nextInt(state.numAisles()));
+        int from = inst.aisleStart[a], len = inst.aisleStart[a + 1] - from;
+        if (len == 0) return false;
+        int item  = inst.aisleItem[from + rand.nextInt(len)];
+        int start = inst.itemAisleStart[item], n = inst.itemAisleStart[item + 1] - start;
+        int b     = inst.itemAisle[start + rand.nextInt(n)];
+        if (state.isOpen(b)) return false;
+        state.closeAisle(a);
+        state.openAisle(b);
+        if (!state.isCovered()) return false;
+        state.closeUnused();
+        return true;
+    }
+
+    /**
+     * Cierra un pasillo, quita ítem a ítem órdenes que lo piden hasta volver a
+     * cubrir y rellena con órdenes que quepan en los pasillos que quedan.
+     */
+    private boolean closeAisle() {
+        if (state.numAisles() < 2) return false;
+        int a = state.aisle(rand.nextInt(state.numAisles()));
+        state.closeAisle(a);
+        for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1] && !state.isCovered(); k++) {
+            int item  = inst.aisleItem[k];
+            int start = inst.itemOrderStart[item], n = inst.itemOrderStart[item + 1] - start;
+            int off   = n == 0 ? 0 : rand.nextInt(n);
+            for (int j = 0; j < n && state.isUncovered(item); j++) {
+                int o = inst.itemOrder[start + (off + j) % n];
+                if (state.contains(o)) state.removeOrder(o);
+            }
+        }
+        if (state.numOrders() == 0 || !state.isCovered()) return false;
+        fill(-1);
+        return true;
+    }
+
+    /** Abre un pasillo y lo rellena con órdenes que piden sus ítems sin abrir más. */
+    private boolean openAisle() {
+        int b = rand.nextInt(inst.nAisles);
+        if (state.isOpen(b) || state.numAisles() >= WaveState.MAX_AISLES) return false;
+        if (inst.aisleStart[b + 1] == inst.aisleStart[b]) return false;
+        state.openAisle(b);
+        fill(b);
+        state.closeUnused();
+        return true;
+    }
+
+    /**
+     * Prueba {@link #FILL_TRIES} órdenes que piden ítems del pasillo {@code a}
+     * (o de pasillos abiertos al azar si es −1) y deja las que caben sin abrir
+     * pasillos.
+     */
+    private void fill(int a) {
+        int aisles = state.numAisles();
+        for (int t = 0; t < FILL_TRIES; t++) {
+            int src  = a >= 0 ? a : state.aisle(rand.nextInt(aisles));
+            int from = inst.aisleStart[src], len = inst.aisleStart[src + 1] - from;
+            if (len == 0) continue;
+            int item  = inst.aisleItem[from + rand.nextInt(len)];
+            int start = inst.itemOrderStart[item], n = inst.itemOrderStart[item + 1] - start;
+            if (n == 0) continue;
+            int o = inst.itemOrder[start + rand.nextInt(n)];
+            if (state.contains(o) || state.units() + inst.orderUnits[o] > inst.waveSizeUB
+                    || !state.fitsOpenAisles(o)) continue;
+            state.addOrder(o);
+        }
+    }
+
+    /**
+     * Orden fuera de la ola, o −1 si no aparece en pocos intentos. La mitad de
+     * las veces se elige entre las que piden un ítem de un pasillo abierto
+     * (pasillo → ítem → orden), que suelen caber sin abrir pasillos nuevos;
+     * el resto, uniforme por rechazo.
+     */
+    private int sampleOutside() {
+        boolean near = rand.nextBoolean();
+        for (int t = 0; t < SAMPLE_TRIES; t++) {
+            int o = near ? sampleNear() : rand.nextInt(inst.nOrders);
+            if (o >= 0 && !state.contains(o)) return o;
+        }
+        return -1;
+    }
+
+    private int sampleNear() {
+        int a    = state.aisle(rand.nextInt(state.numAisles()));
+        int from = inst.aisleStart[a], len = inst.aisleStart[a + 1] - from;
+        if (len == 0) return -1;
+        int item = inst.aisleItem[from + rand.nextInt(len)];
+        int start = inst.itemOrderStart[item], n = inst.itemOrderStart[item + 1] - start;
+        return n == 0 ? -1 : inst.itemOrder[start + rand.nextInt(n)];
+    }
+}
@@ -0,0 +1,197 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Resuelve todas las instancias {@code *.txt} de un directorio en una sola
+ * JVM, varias a la vez, y escribe cada salida con el mismo nombre en el
+ * directorio de salida (como {@code run_challenge.py}).
+ *
+ * Concurrencia: cada instancia usa {@code --workers} hilos (2 por defecto en
+ * lote), así que caben núcleos / workers a la vez ({@code --jobs} lo acota
+ * más). Además cada instancia reserva una estimación de su memoria
+ * ({@link #heapEstimateMb}) de un cupo del 80 % de {@code -Xmx}; las grandes
+ * esperan a que haya sitio. Se lanzan de mayor a menor fichero. El plazo
+ * ({@code --time-limit}) cuenta para cada instancia desde que empieza a
+ * resolverse. Las resoluciones no imprimen nada: cada instancia deja una
+ * línea al terminar y la tabla final las resume.
+ *
+ * <pre>
+ *   java -cp target/ChallengeSBPO2025-1.0.jar org.sbpo2025.challenge.BatchRunner \
+ *        datasets/a out/a [--jobs 4] [--workers 2] [--time-limit 60] ...
+ * </pre>
+ */
+public final class BatchRunner {
+    private static final int  DEFAULT_WORKERS = 2;
+    private static final long MB              = 1L << 20;
+
+    /** Resultado de una instancia para la tabla final. */
+    record Outcome(String name, int orders, int aisles, double ratio, boolean feasible,
+                   long wallMs, String error) {}
+
+    private BatchRunner() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: java -cp <jar> org.sbpo2025.challenge.BatchRunner <inputDir> <outputDir>"
+                    + " [--jobs <n>] [solver options, e.g. --time-limit <s> --workers <n>]");
+            return;
+        }
+        Path inputDir  = Path.of(args[0]);
+        Path outputDir = Path.of(args[1]);
+
+        int jobs = Integer.MAX_VALUE;
+        List<String> options = new ArrayList<>();
+        if (System.getProperty("challenge.workers") == null) {
+            options.add("--workers");
+            options.add(String.valueOf(DEFAULT_WORKERS));
+        }
+        SolverConfig config;
+        try {
+            for (int i = 2; i < args.length; i++) {
+                if (args[i].equals("--jobs") && i + 1 < args.length) jobs = Integer.parseInt(args[++i]);
+                else if (args[i].startsWith("--jobs=")) jobs = Integer.parseInt(args[i].substring(7));
+                else options.add(args[i]);
+            }
+            if (jobs < 1) throw new IllegalArgumentException("jobs must be >= 1: " + jobs);
+            config = SolverConfig.fromArgs(options.toArray(new String[0]));
+        } catch (IllegalArgumentException e) {            // incluye NumberFormatException
+            System.err.println("Invalid option: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        List<Path> inputs;
+        try (Stream<Path> files = Files.list(inputDir)) {
+            inputs = files.filter(p -> p.getFileName().toString().endsWith(".txt"))
+                          .sorted(Comparator.comparingLong(BatchRunner::size).reversed())
+                          .toList();
+            Files.createDirectories(outputDir);
+        } catch (IOException e) {
+            System.err.println("Error listing " + inputDir + ": " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        List<Outcome> outcomes = run(inputs, outputDir, config, jobs);
+        printSummary(outcomes);
+    }
+
+    /** Resuelve {@code inputs} en paralelo; los resultados vienen ordenados por nombre. */
+    static List<Outcome> run(List<Path> inputs, Path outputDir, SolverConfig config, int jobs) {
+        int  cores    = Runtime.getRuntime().availableProcessors();
+        int  parallel = Math.max(1, Math.min(jobs, Math.min(inputs.size(), cores / config.workers)));
+        int  heapMb   = (int) Math.max(1, Runtime.getRuntime().maxMemory() * 8 / 10 / MB);
+        Semaphore heap = new Semaphore(heapMb, true);
+        System.out.printf("Batch: %d instancias, %d a la vez × %d workers, cupo de memoria %d MB%n",
+                          inputs.size(), parallel, config.workers, heapMb);
+
+        ExecutorService pool = Executors.newFixedThreadPool(parallel);
+        List<Future<Outcome>> futures = new ArrayList<>(inputs.size());
+        for (Path input : inputs)
+            futures.add(pool.submit(() -> solveOne(input, outputDir.resolve(input.getFileName()), config,
+                                                   heap, heapMb)));
+        pool.shutdown();
+
+        List<Outcome> outcomes = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            String name = inputs.get(i).getFileName().toString();
+            try {
+                outcomes.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                outcomes.add(new Outcome(name, 0, 0, 0, false, 0, String.valueOf(e.getCause())));
+            } catch (InterruptedException e) {
+                pool.shutdownNow();
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        outcomes.sort(Comparator.comparing(Outcome::name));
+        return outcomes;
+    }
+
+    private static Outcome solveOne(Path input, Path output, SolverConfig config, Semaphore heap, int heapMb)
+            throws InterruptedException {
+        String name = input.getFileName().toString();
+        long   t0   = System.currentTimeMillis();
+        Instance instance;
+        try {
+            instance = InstanceParser.parse(input);
+        } catch (IOException | RuntimeException e) {
+            return report(new Outcome(name, 0, 0, 0, false, System.currentTimeMillis() - t0, e.getMessage()));
+        }
+        int permits = Math.min(heapMb, heapEstimateMb(instance, config.workers));
+        heap.acquire(permits);
+        try {
+            StopWatch sw = StopWatch.createStarted();
+            ChallengeSolution sol = Challenge.solve(instance, config, output, sw, false);
+            ChallengeSolver check = new ChallengeSolver(instance, config);
+            boolean feasible = sol != null && check.isSolutionFeasible(sol);
+            double  ratio    = feasible ? check.computeObjectiveFunction(sol) : 0.0;
+            if (sol != null) SolutionFile.write(output, sol);
+            return report(new Outcome(name, instance.nOrders, instance.nAisles, ratio, feasible,
+                                      System.currentTimeMillis() - t0, sol == null ? "no solution" : null));
+        } catch (IOException | RuntimeException e) {
+            return report(new Outcome(name, instance.nOrders, instance.nAisles, 0, false,
+                                      System.currentTimeMillis() - t0, e.toString()));
+        } finally {
+            heap.release(permits);
+        }
+    }
+
+    /** Una línea por instancia al terminar; las resoluciones van en silencio para no intercalarse. */
+    private static Outcome report(Outcome o) {
+        System.out.printf("%s: ratio %.4f, %s, %.1f s%s%n", o.name(), o.ratio(),
+                          o.feasible() ? "factible" : "NO factible", o.wallMs() / 1000.0,
+                          o.error() != null ? " (" + o.error() + ")" : "");
+        return o;
+    }
+
+    /**
+     * Estimación gruesa (MB) de la memoria de una instancia en resolución: las
+     * filas CSR y sus transpuestas, más por worker los arrays por orden / ítem /
+     * pasillo del estado incremental y las cachés de la búsqueda en pasillos,
+     * con un factor 4 de holgura para la basura de GRASP.
+     */
+    static int heapEstimateMb(Instance inst, int workers) {
+        long nnz      = inst.orderItem.length + inst.aisleItem.length;
+        long model    = nnz * 3 * 4 * 2;
+        long perWorker = (long) (inst.nOrders + inst.nItems + inst.nAisles) * 4 * 8;
+        long bytes    = 32 * MB + 4 * (model + workers * perWorker);
+        return (int) Math.min(Integer.MAX_VALUE, (bytes + MB - 1) / MB);
+    }
+
+    private static void printSummary(List<Outcome> outcomes) {
+        System.out.printf("%n%-22s %8s %7s %12s %9s %9s%n", "instance", "orders", "aisles", "ratio", "feasible", "wall s");
+        int feasible = 0;
+        for (Outcome o : outcomes) {
+            System.out.printf("%-22s %8d %7d %12.4f %9s %9.1f%s%n", o.name(), o.orders(), o.aisles(), o.ratio(),
+                              o.feasible() ? "yes" : "NO", o.wallMs() / 1000.0,
+                              o.error() != null ? "  " + o.error() : "");
+            if (o.feasible()) feasible++;
+        }
+        System.out.printf("%d/%d factibles%n", feasible, outcomes.size());
+    }
+
+    private static long size(Path p) {
+        try {
+            return Files.size(p);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.sbpo2025.challenge;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Testigo de cancelación cooperativa: se considera cancelado al llegar su
+ * plazo, al cancelarse explícitamente o al cancelarse su padre. Las fases lo
+ * consultan en sus bucles; quien no puede hacerlo (p. ej. un solve de CPLEX)
+ * recibe el tiempo restante como límite y se registra con {@link #onCancel}
+ * para abortar ante una cancelación explícita.
+ */
+final class CancelToken {
+    private final CancelToken parent;
+    private final long        deadline;          // ms de época
+    private volatile boolean  cancelled;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    private CancelToken(CancelToken parent, long deadline) {
+        this.parent   = parent;
+        this.deadline = parent == null ? deadline : Math.min(deadline, parent.deadline);
+    }
+
+    static CancelToken until(long deadlineMillis) {
+        return new CancelToken(null, deadlineMillis);
+    }
+
+    /** Testigo hijo con un plazo no posterior al del padre. */
+    CancelToken child(long deadlineMillis) {
+        return new CancelToken(this, deadlineMillis);
+    }
+
+    boolean isCancelled() {
+        return cancelled || System.currentTimeMillis() >= deadline
+                || (parent != null && parent.isCancelled());
+    }
+
+    long deadline() {
+        return deadline;
+    }
+
+    long remainingMillis() {
+        return isCancelled() ? 0 : Math.max(0, deadline - System.currentTimeMillis());
+    }
+
+    /** Cancela este testigo (y, por herencia, sus hijos) y avisa a los oyentes. */
+    void cancel() {
+        cancelled = true;
+        for (Runnable r : listeners) r.run();
+    }
+
+    /**
+     * Ejecuta {@code action} si este testigo o algún ancestro se cancela
+     * explícitamente mientras el registro siga abierto.
+     */
+    Registration onCancel(Runnable action) {
+        for (CancelToken t = this; t != null; t = t.parent) t.listeners.add(action);
+        if (explicitlyCancelled()) action.run();
+        return () -> {
+            for (CancelToken t = this; t != null; t = t.parent) t.listeners.remove(action);
+        };
+    }
+
+    private boolean explicitlyCancelled() {
+        return cancelled || (parent != null && parent.explicitlyCancelled());
+    }
+
+    /** Registro de un oyente; cerrarlo lo da de baja. */
+    interface Registration extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
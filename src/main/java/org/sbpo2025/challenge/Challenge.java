@@ -2,104 +2,44 @@ package org.sbpo2025.challenge;
 
 import org.apache.commons.lang3.time.StopWatch;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 public class Challenge {
 
-    private List<Map<Integer, Integer>> orders;
-    private List<Map<Integer, Integer>> aisles;
-    private int nItems;
-    private int waveSizeLB;
-    private int waveSizeUB;
+    private Instance instance;
 
-    public void readInput(String inputFilePath) {
-        try {
-            BufferedReader reader = new BufferedReader(new FileReader(inputFilePath));
-            String line = reader.readLine();
-            String[] firstLine = line.split(" ");
-            int nOrders = Integer.parseInt(firstLine[0]);
-            int nItems = Integer.parseInt(firstLine[1]);
-            int nAisles = Integer.parseInt(firstLine[2]);
-
-            // Initialize orders and aisles arrays
-            orders = new ArrayList<>(nOrders);
-            aisles = new ArrayList<>(nAisles);
-            this.nItems = nItems;
-
-            // Read orders
-            readItemQuantityPairs(reader, nOrders, orders);
-
-            // Read aisles
-            readItemQuantityPairs(reader, nAisles, aisles);
-
-            // Read wave size bounds
-            line = reader.readLine();
-            String[] bounds = line.split(" ");
-            waveSizeLB = Integer.parseInt(bounds[0]);
-            waveSizeUB = Integer.parseInt(bounds[1]);
-
-            reader.close();
-        } catch (IOException e) {
-            System.err.println("Error reading input from " + inputFilePath);
-            e.printStackTrace();
-        }
-    }
-
-    private void readItemQuantityPairs(BufferedReader reader, int nLines, List<Map<Integer, Integer>> orders) throws IOException {
-        String line;
-        for (int orderIndex = 0; orderIndex < nLines; orderIndex++) {
-            line = reader.readLine();
-            String[] orderLine = line.split(" ");
-            int nOrderItems = Integer.parseInt(orderLine[0]);
-            Map<Integer, Integer> orderMap = new HashMap<>();
-            for (int k = 0; k < nOrderItems; k++) {
-                int itemIndex = Integer.parseInt(orderLine[2 * k + 1]);
-                int itemQuantity = Integer.parseInt(orderLine[2 * k + 2]);
-                orderMap.put(itemIndex, itemQuantity);
-            }
-            orders.add(orderMap);
-        }
+    /** Lee la instancia con el lector mapeado en memoria; los errores de formato indican línea y columna. */
+    public void readInput(String inputFilePath) throws IOException {
+        instance = InstanceParser.parse(Path.of(inputFilePath));
     }
 
+    /** Escribe la solución de forma atómica (temporal + renombrado), ver {@link SolutionFile}. */
     public void writeOutput(ChallengeSolution challengeSolution, String outputFilePath) {
         if (challengeSolution == null) {
             System.err.println("Solution not found");
             return;
         }
         try {
-            BufferedWriter writer = new BufferedWriter(new FileWriter(outputFilePath));
-            var orders = challengeSolution.orders();
-            var aisles = challengeSolution.aisles();
-
-            // Write the number of orders
-            writer.write(String.valueOf(orders.size()));
-            writer.newLine();
-
-            // Write each order
-            for (int order : orders) {
-                writer.write(String.valueOf(order));
-                writer.newLine();
-            }
-
-            // Write the number of aisles
-            writer.write(String.valueOf(aisles.size()));
-            writer.newLine();
+            SolutionFile.write(Path.of(outputFilePath), challengeSolution);
+            System.out.println("Output written to " + outputFilePath);
 
-            // Write each aisle
-            for (int aisle : aisles) {
-                writer.write(String.valueOf(aisle));
-                writer.newLine();
-            }
+        } catch (IOException e) {
+            System.err.println("Error writing output to " + outputFilePath);
+            e.printStackTrace();
+        }
+    }
 
-            writer.close();
+    /** Multiola: fichero con todas las olas más {@code <output>.waves.csv}, ver {@link MultiWave}. */
+    void writeWaves(List<MultiWave.Wave> waves, String outputFilePath) {
+        if (waves.isEmpty()) {
+            System.err.println("Solution not found");
+            return;
+        }
+        try {
+            MultiWave.write(Path.of(outputFilePath), waves);
             System.out.println("Output written to " + outputFilePath);
 
         } catch (IOException e) {
@@ -112,17 +52,78 @@ public class Challenge {
         // Start the stopwatch to track the running time
         StopWatch stopWatch = StopWatch.createStarted();
 
-        if (args.length != 2) {
-            System.out.println("Usage: java -jar target/ChallengeSBPO2025-1.0.jar <inputFilePath> <outputFilePath>");
+        if (args.length < 2) {
+            System.out.println("Usage: java -jar target/ChallengeSBPO2025-1.0.jar <inputFilePath> <outputFilePath>"
+                    + " [--time-limit <s>] [--stall <s>] [--gap <g>] [--workers <n>] [--waves <n>|all]");
+            return;
+        }
+        SolverConfig config;
+        try {
+            config = SolverConfig.fromArgs(Arrays.copyOfRange(args, 2, args.length));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid option: " + e.getMessage());
+            System.exit(2);
             return;
         }
 
         Challenge challenge = new Challenge();
-        challenge.readInput(args[0]);
-        var challengeSolver = new ChallengeSolver(
-                challenge.orders, challenge.aisles, challenge.nItems, challenge.waveSizeLB, challenge.waveSizeUB);
+        try {
+            challenge.readInput(args[0]);
+        } catch (IOException e) {
+            System.err.println("Error reading input from " + args[0] + ": " + e.getMessage());
+            System.exit(1);
+        }
+        if (config.waves != 1) {
+            challenge.writeWaves(MultiWave.run(challenge.instance, config, stopWatch), args[1]);
+            return;
+        }
+        ChallengeSolution challengeSolution = solve(challenge.instance, config, Path.of(args[1]), stopWatch);
+        challenge.writeOutput(challengeSolution, args[1]);
+    }
+
+    /**
+     * Presolve, solve with checkpoints to {@code output} and the telemetry
+     * report; the returned solution uses the ids of {@code instance}. Shared
+     * by {@link #main} and {@link BatchRunner}.
+     */
+    static ChallengeSolution solve(Instance instance, SolverConfig config, Path output, StopWatch stopWatch) {
+        return solve(instance, config, output, stopWatch, true);
+    }
+
+    /**
+     * As above; with {@code verbose} false nothing is printed (presolve,
+     * solver and checkpoint summaries), so concurrent runs in
+     * {@link BatchRunner} do not interleave their logs.
+     */
+    static ChallengeSolution solve(Instance instance, SolverConfig config, Path output, StopWatch stopWatch,
+                                   boolean verbose) {
+        // Exact reduction; solutions are mapped back to the original ids on output
+        Presolve presolve = config.presolve ? Presolve.run(instance) : Presolve.identity(instance);
+        if (config.presolve && verbose) System.out.println(presolve);
+        var challengeSolver = new ChallengeSolver(presolve.reduced, config);
+        challengeSolver.verbose(verbose);
+
+        // Anytime: each incumbent improvement is checkpointed to the output file
+        CheckpointWriter checkpoint = null;
+        if (config.checkpointMs > 0) {
+            CheckpointWriter writer = CheckpointWriter.start(output, config.checkpointMs);
+            challengeSolver.onImprovement(e -> writer.offer(presolve.restore(e)));
+            checkpoint = writer;
+        }
         ChallengeSolution challengeSolution = challengeSolver.solve(stopWatch);
+        if (checkpoint != null) {
+            checkpoint.close();
+            if (verbose) System.out.println(checkpoint);
+        }
 
-        challenge.writeOutput(challengeSolution, args[1]);
+        if (Telemetry.ENABLED && challengeSolution != null) {
+            try {
+                challengeSolver.telemetry.writeReport(output,
+                        challengeSolver.computeObjectiveFunction(challengeSolution));
+            } catch (IOException e) {
+                System.err.println("Error writing telemetry report: " + e.getMessage());
+            }
+        }
+        return presolve.restore(challengeSolution);
     }
 }
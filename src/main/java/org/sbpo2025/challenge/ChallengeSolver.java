@@ -2,263 +2,513 @@ package org.sbpo2025.challenge;
 
 import org.apache.commons.lang3.time.StopWatch;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-import ilog.concert.*;
-import ilog.cplex.IloCplex;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class ChallengeSolver {
-    /* ─────────────────────────── Parámetros globales ─────────────────────────── */
-    private final long MAX_RUNTIME = 585_000;            // 585 s  (~9:45 min)
-
-    protected List<Map<Integer, Integer>> orders;
-    protected List<Map<Integer, Integer>> aisles;
+    protected final Instance     instance;
+    protected final SolverConfig config;
     protected int  nItems;
     protected int  waveSizeLB;
     protected int  waveSizeUB;
 
+    private Consumer<Incumbent.Entry> onImprovement;
+    final Telemetry telemetry = new Telemetry();
+    private Function<Instance, RatioBackend> ratioBackends;
+    /** Cotas combinatorias; se calculan al empezar {@link #solve}. */
+    private RatioBounds bounds;
+    private boolean     verbose = true;
+    private List<ChallengeSolution> seeds = List.of();
+    /** Pool de élite de la última llamada a {@link #solve}. */
+    private ElitePool   elite;
+
+    public ChallengeSolver(Instance instance, SolverConfig config) {
+        this.instance   = instance;
+        this.config     = config;
+        this.nItems     = instance.nItems;
+        this.waveSizeLB = instance.waveSizeLB;
+        this.waveSizeUB = instance.waveSizeUB;
+        this.ratioBackends = inst -> RatioBackend.load(inst, config.workers);
+    }
+
+    public ChallengeSolver(Instance instance) {
+        this(instance, SolverConfig.fromSystemProperties());
+    }
+
+    /** Adaptador para el modelo original basado en mapas. */
     public ChallengeSolver(List<Map<Integer, Integer>> orders,
                            List<Map<Integer, Integer>> aisles,
                            int nItems,
                            int waveSizeLB,
                            int waveSizeUB) {
-        this.orders     = orders;
-        this.aisles     = aisles;
-        this.nItems     = nItems;
-        this.waveSizeLB = waveSizeLB;
-        this.waveSizeUB = waveSizeUB;
+        this(Instance.fromMaps(orders, aisles, nItems, waveSizeLB, waveSizeUB));
+    }
+
+    /** Recibe cada mejora del incumbente durante {@link #solve} (escritura anticipada). */
+    void onImprovement(Consumer<Incumbent.Entry> listener) {
+        this.onImprovement = listener;
+    }
+
+    /** Con false no se imprimen cotas, avisos ni resúmenes (subproblemas de {@link Decomposition}, lotes). */
+    void verbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /** Olas de partida (ids de esta instancia); las infactibles se ignoran. */
+    void seed(List<ChallengeSolution> waves) {
+        this.seeds = List.copyOf(waves);
+    }
+
+    /** Olas del pool de élite al terminar {@link #solve}, de mejor a peor. */
+    List<ChallengeSolution> eliteSolutions() {
+        return elite != null ? elite.solutions() : List.of();
+    }
+
+    /** Resolutor de la fase exacta del ratio (por defecto CPLEX si está disponible; null la desactiva). */
+    void ratioBackend(Function<Instance, RatioBackend> factory) {
+        this.ratioBackends = factory;
     }
 
     /* ────────────────────────────── MÉTODO PRINCIPAL ─────────────────────────── */
+    /** Resuelve dentro de {@code config.timeLimitMs} contados desde que arrancó {@code sw}. */
     public ChallengeSolution solve(StopWatch sw) {
+        long deadline = System.currentTimeMillis() + config.timeLimitMs - sw.getDuration().toMillis();
+        return solve(CancelToken.until(deadline));
+    }
+
+    /**
+     * Fases GRASP + VND, búsqueda en pasillos, bisección o Dinkelbach sobre
+     * el ratio (CPLEX), path relinking entre olas de élite y recocido simulado,
+     * repartidas por {@link PhaseScheduler} según su tasa de mejora hasta que
+     * se cancele {@code token} o el incumbente alcance la
+     * cota superior ({@link RatioBounds} o la demostrada por CPLEX) con brecha
+     * {@code config.gap}. Arranca de las olas de {@link #seed} y, con
+     * {@code config.decompose}, de las de {@link Decomposition}.
+     */
+    ChallengeSolution solve(CancelToken token) {
+        bounds = RatioBounds.compute(instance);
+        if (verbose) System.out.println("Cotas combinatorias: " + bounds);
+        Incumbent incumbent = new Incumbent();
+        ElitePool elite     = new ElitePool();
+        this.elite = elite;
+        incumbent.onImprovement(e -> {
+            telemetry.improved(e);
+            elite.offer(e.solution(), e.ratio());
+            if (onImprovement != null) onImprovement.accept(e);
+        });
+        offerAll(seeds, incumbent, elite);
+        if (config.decompose) decompose(token, incumbent, elite);
+        ExecutorService pool = Executors.newFixedThreadPool(config.workers);     // uno para todas las rebanadas
         try {
-            /* ---------- Pre-cálculos ---------- */
-            int numOrders = orders.size();
-            int[] unitsPerOrder = new int[numOrders];
-            int   totalUnitsRequested = 0;
-            for (int o = 0; o < numOrders; o++) {
-                int sum = orders.get(o).values().stream().mapToInt(Integer::intValue).sum();
-                unitsPerOrder[o] = sum;
-                totalUnitsRequested += sum;
-            }
+            List<PhaseScheduler.Phase> phases = List.of(
+                    new GraspPhase(incumbent, elite, pool),
+                    new AislePhase(incumbent, elite, pool),
+                    new RatioPhase(incumbent),
+                    new RelinkPhase(incumbent, elite, pool),
+                    new AnnealPhase(incumbent, elite, pool));
+            PhaseScheduler scheduler = new PhaseScheduler(phases, incumbent, config, telemetry, bounds.upper());
+            scheduler.run(token);
+            if (verbose) scheduler.report();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        /* backup extremo */
+        ChallengeSolution best = incumbent.solution();
+        return best != null ? best : singleOrderSolution(0);
+    }
 
-            /* ---------- Gestión de tiempos ---------- */
-            long startTime     = System.currentTimeMillis();
-            final long GRASP_BUDGET  = (long)(0.15 * MAX_RUNTIME);   // 15 %
-            final long RATIO_BUDGET  = (long)(0.60 * MAX_RUNTIME);   // 60 %
-            final long RANDOM_BUDGET = MAX_RUNTIME - GRASP_BUDGET - RATIO_BUDGET;
-
-            Random rand = new Random();
-
-            /* ==================== 1)  GRASP + VND ==================== */
-            long graspEnd = startTime + GRASP_BUDGET;
-            ChallengeSolution bestSol  = null;
-            double            bestRatio = 0.0;
-
-            while (System.currentTimeMillis() < graspEnd) {
-                ChallengeSolution g = constructiveGreedy(unitsPerOrder);
-                ChallengeSolution v = vndLocalSearch(g, unitsPerOrder);
-                if (!isSolutionFeasible(v)) continue;          // defensa extra
-                double r = computeObjectiveFunction(v);
-                if (r > bestRatio) {
-                    bestRatio = r;
-                    bestSol   = v;
+    /** Subproblemas por grupos durante {@link Decomposition#SHARE} del plazo; sus olas siembran incumbente y élite. */
+    private void decompose(CancelToken token, Incumbent incumbent, ElitePool elite) {
+        long budget = Math.round(token.remainingMillis() * Decomposition.SHARE);
+        Decomposition d = Decomposition.run(instance, config, token.child(System.currentTimeMillis() + budget));
+        telemetry.phase("DECOMPOSE");
+        offerAll(d.solutions, incumbent, elite);
+        if (verbose) {
+            for (Throwable ex : d.failures) System.err.println("Subproblema de la descomposición descartado: " + ex);
+            System.out.println(d);
+        }
+    }
+
+    /** Publica las olas factibles en el incumbente y el pool de élite. */
+    private void offerAll(List<ChallengeSolution> waves, Incumbent incumbent, ElitePool elite) {
+        for (ChallengeSolution s : waves) {
+            if (!isSolutionFeasible(s)) continue;
+            double r = computeObjectiveFunction(s);
+            incumbent.offer(s, r);
+            elite.offer(s, r);
+        }
+    }
+
+    /* ──────────────────────────  GRASP paralelo  ───────────────────────── */
+    /** {@code config.workers} hilos de GRASP + VND, cada uno con su propio
+     *  {@link Random}, que publican en el incumbente compartido y ofrecen
+     *  cada ola al pool de élite. */
+    private final class GraspPhase implements PhaseScheduler.Phase {
+        private final Incumbent       incumbent;
+        private final ElitePool       elite;
+        private final ExecutorService pool;
+        private final long[][]        stats = new long[config.workers][3];
+
+        GraspPhase(Incumbent incumbent, ElitePool elite, ExecutorService pool) {
+            this.incumbent = incumbent;
+            this.elite     = elite;
+            this.pool      = pool;
+        }
+
+        @Override public String name()          { return "GRASP"; }
+        @Override public double initialShare()  { return 0.15; }
+        @Override public void   report()        { reportWorkers(name(), stats); }
+
+        @Override
+        public void runSlice(CancelToken token) {
+            runWorkers(pool, name(), stats, (w, rand) -> graspWorker(token, incumbent, elite, rand));
+        }
+    }
+
+    private long[] graspWorker(CancelToken token, Incumbent incumbent, ElitePool elite, Random rand) {
+        long start = System.currentTimeMillis(), iters = 0, improvements = 0;
+        while (!token.isCancelled()) {
+            ChallengeSolution g = constructiveGreedy(instance.orderUnits, rand, token, incumbent.ratio());
+            ChallengeSolution v = vndLocalSearch(g, instance.orderUnits, token);
+            iters++;
+            if (!isSolutionFeasible(v)) continue;          // defensa extra
+            double r = computeObjectiveFunction(v);
+            if (incumbent.offer(v, r)) improvements++;
+            else elite.offer(v, r);
+        }
+        return new long[]{iters, improvements, System.currentTimeMillis() - start};
+    }
+
+    /* ─────────────────────  Búsqueda en pasillos (paralela)  ───────────────────── */
+    /** Un {@link AisleSetSearch} por hilo, conservado entre rebanadas (caché
+     *  incluida): el hilo 0 parte de los pasillos del incumbente (o de la
+     *  semilla greedy) y el resto de perturbaciones aleatorias de ellos (1 a
+     *  {@link #START_SWAPS} pasillos cambiados por otros de fuera; sin
+     *  incumbente, de un pasillo al azar). Sus óptimos locales alimentan el
+     *  pool de élite. */
+    private final class AislePhase implements PhaseScheduler.Phase {
+        private static final int START_SWAPS = 3;
+
+        private final Incumbent        incumbent;
+        private final ElitePool        elite;
+        private final ExecutorService  pool;
+        private final AisleSetSearch[] searches = new AisleSetSearch[config.workers];
+        private final long[][]         stats    = new long[config.workers][3];
+
+        AislePhase(Incumbent incumbent, ElitePool elite, ExecutorService pool) {
+            this.incumbent = incumbent;
+            this.elite     = elite;
+            this.pool      = pool;
+        }
+
+        @Override public String name()          { return "AISLES"; }
+        @Override public double initialShare()  { return 0.10; }
+        @Override public void   report()        { reportWorkers(name(), stats); }
+
+        @Override
+        public void runSlice(CancelToken token) {
+            ChallengeSolution seed = incumbent.solution();
+            runWorkers(pool, name(), stats, (w, rand) -> {
+                long start = System.currentTimeMillis();
+                if (searches[w] == null) {
+                    searches[w] = new AisleSetSearch(instance, rand);
+                    searches[w].feed(elite);
                 }
+                AisleSetSearch search = searches[w];
+                long it0 = search.evaluations + search.cacheHits, imp0 = search.improvements;
+                Set<Integer> s0 = seed != null ? seed.aisles() : null;
+                if (w > 0) s0 = s0 == null ? Set.of(rand.nextInt(instance.nAisles))
+                                           : perturbed(s0, 1 + rand.nextInt(START_SWAPS), rand);
+                search.run(s0, token, incumbent);
+                return new long[]{search.evaluations + search.cacheHits - it0, search.improvements - imp0,
+                                  System.currentTimeMillis() - start};
+            });
+        }
+
+        /** {@code aisles} con {@code swaps} pasillos (si hay más de uno) cambiados por otros de fuera, al azar. */
+        private Set<Integer> perturbed(Set<Integer> aisles, int swaps, Random rand) {
+            List<Integer> in = new ArrayList<>(aisles);
+            Set<Integer>  out = new HashSet<>(aisles);
+            swaps = Math.min(swaps, instance.nAisles - aisles.size());      // hay tantos de fuera
+            for (int k = 0; k < swaps && in.size() > 1; k++) {
+                out.remove(in.remove(rand.nextInt(in.size())));
+                int b;
+                do { b = rand.nextInt(instance.nAisles); } while (aisles.contains(b) || !out.add(b));
             }
-            /* backup extremo */
-            if (bestSol == null) {
-                Set<Integer> fo = new HashSet<>(List.of(0));
-                Set<Integer> fa = greedyAddAislesForOrder(0, new HashSet<>());
-                bestSol   = new ChallengeSolution(fo, fa);
-                bestRatio = computeObjectiveFunction(bestSol);
-            }
+            return out;
+        }
+    }
 
-            /* =================== 2)  Binary Search =================== */
-            long ratioStart     = System.currentTimeMillis();
-            long ratioDeadline  = ratioStart + RATIO_BUDGET;
+    /* ──────────────────────  Búsqueda exacta del ratio  ─────────────────────── */
+    /**
+     * {@link RatioBisection} o {@link RatioDinkelbach} (según
+     * {@code config.ratioMode}) con el {@link RatioBackend} de
+     * {@link #ratioBackend}, que conserva su modelo entre rebanadas; cada
+     * solve arranca desde el incumbente.
+     */
+    private final class RatioPhase implements PhaseScheduler.Phase {
+        private final Incumbent incumbent;
+        private RatioSearch  search;
+        private RatioBackend backend;
+        private boolean      failed;
+        private long         solveMs;          // tiempo acumulado en el resolutor
+        private long         msToBest;         // ... hasta la última subida de la cota inferior
+
+        RatioPhase(Incumbent incumbent) {
+            this.incumbent = incumbent;
+        }
+
+        @Override public String name()          { return "RATIO"; }
+        @Override public double initialShare()  { return 0.60; }
 
-            double left         = bestRatio;           // factible
-            double right        = totalUnitsRequested; // infactible trivial cota sup
+        @Override
+        public double upperBound() {
+            return search != null ? search.upper() : Double.POSITIVE_INFINITY;
+        }
 
-            while (System.currentTimeMillis() < ratioDeadline) {
-                double mid = (left + right) / 2.0;
-                double timeRemSec = (ratioDeadline - System.currentTimeMillis()) / 1000.0;
-                if (timeRemSec <= 1.0) break;          // 1 s de colchón
+        @Override
+        public boolean isExhausted() {
+            return failed || (search != null && search.converged());
+        }
 
-                ChallengeSolution cand = solveForRatio(mid, unitsPerOrder, timeRemSec);
-                if (cand != null) {                    // factible ⇒ subir la exigencia
-                    double r = computeObjectiveFunction(cand);
-                    if (r > bestRatio) {
-                        bestRatio = r;
-                        bestSol   = cand;
+        @Override
+        public void runSlice(CancelToken token) {
+            try {
+                if (search == null) {
+                    backend = ratioBackends.apply(instance);
+                    if (backend == null) {
+                        if (verbose) System.err.println("CPLEX no disponible, se desactiva la búsqueda exacta del ratio");
+                        failed = true;
+                        return;
                     }
-                    left = mid;
-                } else {                               // infactible ⇒ bajar la exigencia
-                    right = mid;
+                    // ≥ 1 pasillo ⇒ ratio ≤ unidades totales; las cotas combinatorias lo ajustan
+                    double upper = instance.totalUnitsRequested;
+                    if (bounds != null) upper = Math.min(upper, bounds.upper());
+                    search = config.ratioMode == SolverConfig.RatioMode.DINKELBACH
+                           ? new RatioDinkelbach(backend, upper, config.gap, ChallengeSolver.this::computeObjectiveFunction)
+                           : new RatioBisection(backend, upper, config.gap, ChallengeSolver.this::computeObjectiveFunction);
                 }
-            }
-
-            /* =============== 3)  Búsqueda aleatoria final =============== */
-            long randomDeadline = startTime + MAX_RUNTIME;
-            while (System.currentTimeMillis() < randomDeadline) {
-                ChallengeSolution cand = randomJump(bestSol, unitsPerOrder, rand);
-                if (cand == null) continue;
-                double r = computeObjectiveFunction(cand);
-                if (r > bestRatio) {
-                    bestRatio = r;
-                    bestSol   = cand;
+                search.raiseLower(incumbent.ratio());
+                while (!search.converged() && token.remainingMillis() > 250) {   // colchón para el modelo
+                    Telemetry.RatioSolveEvent ev = Telemetry.beginRatioSolve();
+                    long   t0     = System.currentTimeMillis();
+                    double before = search.lower();
+                    RatioSearch.Step step = search.step(incumbent.solution(), token);
+                    long   dt     = System.currentTimeMillis() - t0;
+                    solveMs += dt;
+                    if (search.lower() > before) msToBest = solveMs;
+                    ChallengeSolution sol = step.result().solution();
+                    if (sol != null && !isSolutionFeasible(sol)) {     // tolerancias del MIP: no se ofrece
+                        if (verbose) System.err.println("Ola del modelo de ratio infactible, se descarta");
+                        sol = null;
+                    }
+                    if (sol != null) incumbent.offer(sol, computeObjectiveFunction(sol));
+                    String outcome = step.cancelled() ? "cancelled"
+                                   : step.result().status() == RatioBackend.Status.UNKNOWN ? "timeout"
+                                   : step.result().status().name().toLowerCase();
+                    telemetry.ratioSolve(ev, step.ratio(), outcome, dt);
+                    telemetry.count(name(), 1, sol != null ? 1 : 0, 0);
+                    if (step.cancelled()) break;                  // rebanada agotada: se reintenta
                 }
+            } catch (RatioBackend.BackendException | LinkageError ex) {
+                if (verbose) System.err.println("Se desactiva la búsqueda exacta del ratio: " + ex.getMessage());
+                failed = true;
             }
+        }
 
-            return bestSol;   // siempre factible
+        @Override
+        public void report() {
+            if (search == null) return;
+            System.out.printf("RATIO (%s): %d solves, ratio %.4f a los %.1f s de resolutor (%.1f s en total), cota %.4f%n",
+                              config.ratioMode.name().toLowerCase(), search.solves(), search.lower(),
+                              msToBest / 1000.0, solveMs / 1000.0, search.upper());
+        }
 
-        } catch (IloException ex) {
-            throw new RuntimeException("Error en CPLEX: " + ex.getMessage(), ex);
+        @Override
+        public void close() {
+            if (backend != null) backend.close();
         }
     }
 
-    /* ────────────────────────  BÚSQUEDA ALEATORIA  ─────────────────────────── */
-    /** Salto aleatorio sobre la solución actual.
-     *  - 50 %: intenta añadir una orden aleatoria
-     *  - 50 %: intenta eliminar una orden al azar (si se conserva factibilidad)
+    /* ──────────────────────────  Path relinking  ────────────────────────── */
+    /**
+     * Cada hilo toma del {@link ElitePool} una pareja de olas aún no
+     * combinada y recorre el camino entre sus conjuntos de pasillos
+     * ({@link AisleSetSearch#relink}); el mejor intermedio va al incumbente
+     * y, si no lo mejora, al pool. Sin parejas nuevas la rebanada termina.
      */
-    private ChallengeSolution randomJump(ChallengeSolution base,
-                                         int[] unitsPerOrder,
-                                         Random rand) {
-        Set<Integer> candO = new HashSet<>(base.orders());
-        if (rand.nextBoolean() && candO.size() < orders.size()) {
-            /* añadir una orden no usada */
-            List<Integer> free = new ArrayList<>();
-            for (int o = 0; o < orders.size(); o++)
-                if (!candO.contains(o)) free.add(o);
-            Collections.shuffle(free, rand);
-            for (int o : free) {
-                candO.add(o);
-                break;
-            }
-        } else if (candO.size() > 1) {
-            /* quitar una orden al azar */
-            List<Integer> list = new ArrayList<>(candO);
-            int idx = rand.nextInt(list.size());
-            candO.remove(list.get(idx));
+    private final class RelinkPhase implements PhaseScheduler.Phase {
+        private final Incumbent        incumbent;
+        private final ElitePool        elite;
+        private final ExecutorService  pool;
+        private final Set<Long>        tried    = ConcurrentHashMap.newKeySet();
+        private final AisleSetSearch[] searches = new AisleSetSearch[config.workers];
+        private final long[][]         stats    = new long[config.workers][3];
+
+        RelinkPhase(Incumbent incumbent, ElitePool elite, ExecutorService pool) {
+            this.incumbent = incumbent;
+            this.elite     = elite;
+            this.pool      = pool;
         }
 
-        /* reconstruye pasillos y comprueba factibilidad */
-        Set<Integer> candA = new HashSet<>();
-        int candUnits = 0;
-        for (int o : candO) {
-            candUnits += unitsPerOrder[o];
-            candA.addAll(greedyAddAislesForOrder(o, candA));
+        @Override public String name()          { return "RELINK"; }
+        @Override public double initialShare()  { return 0.10; }
+
+        @Override
+        public void report() {
+            reportWorkers(name(), stats);
+            System.out.println(elite);
         }
-        if (candUnits < waveSizeLB || candUnits > waveSizeUB || candA.isEmpty() || candA.size() > 20)
-            return null;   // descarte rápido
 
-        ChallengeSolution cs = new ChallengeSolution(candO, candA);
-        return isSolutionFeasible(cs) ? cs : null;
+        @Override
+        public void runSlice(CancelToken token) {
+            if (elite.size() < 2) return;
+            runWorkers(pool, name(), stats, (w, rand) -> {
+                long start = System.currentTimeMillis(), iters = 0, improvements = 0;
+                if (searches[w] == null) searches[w] = new AisleSetSearch(instance, rand);
+                ElitePool.Entry[] pair;
+                while (!token.isCancelled() && (pair = elite.pair(rand, tried)) != null) {
+                    ChallengeSolution sol = searches[w].relink(pair[0].aisles(), pair[1].aisles(), token);
+                    iters++;
+                    if (sol == null || !isSolutionFeasible(sol)) continue;
+                    double r = computeObjectiveFunction(sol);
+                    if (incumbent.offer(sol, r)) improvements++;
+                    else elite.offer(sol, r);
+                }
+                return new long[]{iters, improvements, System.currentTimeMillis() - start};
+            });
+        }
     }
 
+    /* ────────────────────────  Recocido simulado  ──────────────────────── */
+    /** Un {@link Annealer} por hilo, conservado entre rebanadas; cada rebanada
+     *  vuelve a calentar y, si el incumbente es mejor que el estado del hilo,
+     *  reinicia desde él. El estado enfriado al final de la rebanada se
+     *  ofrece al pool de élite. */
+    private final class AnnealPhase implements PhaseScheduler.Phase {
+        private final Incumbent       incumbent;
+        private final ElitePool       elite;
+        private final ExecutorService pool;
+        private final Annealer[]      annealers = new Annealer[config.workers];
+        private final long[][]        stats     = new long[config.workers][3];
+
+        AnnealPhase(Incumbent incumbent, ElitePool elite, ExecutorService pool) {
+            this.incumbent = incumbent;
+            this.elite     = elite;
+            this.pool      = pool;
+        }
 
-    /* ──────────────────────  SUBMODELO: ratio mínimo  ─────────────────────── */
-    private ChallengeSolution solveForRatio(double ratioConstraint,
-                                            int[] unitsPerOrder,
-                                            double timeLimitSec) throws IloException {
-
-        int numOrders = orders.size();
-        int numAisles = aisles.size();
-
-        IloCplex cplex = new IloCplex();
-        cplex.setParam(IloCplex.Param.Threads,
-                       Runtime.getRuntime().availableProcessors());
-        cplex.setParam(IloCplex.Param.TimeLimit, timeLimitSec);
-        cplex.setOut(null);
+        @Override public String name()          { return "ANNEAL"; }
+        @Override public double initialShare()  { return 0.15; }
+        @Override public void   report()        { reportWorkers(name(), stats); }
+
+        @Override
+        public void runSlice(CancelToken token) {
+            ChallengeSolution base = incumbent.solution();
+            if (base == null) return;
+            runWorkers(pool, name(), stats, (w, rand) -> {
+                long start = System.currentTimeMillis();
+                if (annealers[w] == null) annealers[w] = new Annealer(instance, rand);
+                Annealer sa = annealers[w];
+                if (sa.ratio() < incumbent.ratio() && !sa.reset(base))
+                    return new long[]{0, 0, System.currentTimeMillis() - start};
+                long m0 = sa.moves, i0 = sa.improvements;
+                sa.run(token, incumbent);
+                elite.offer(sa.solution(), sa.ratio());
+                return new long[]{sa.moves - m0, sa.improvements - i0, System.currentTimeMillis() - start};
+            });
+        }
+    }
 
-        IloNumVar[] x = cplex.boolVarArray(numOrders);   // órdenes
-        IloNumVar[] y = cplex.boolVarArray(numAisles);   // pasillos
+    private interface Worker {
+        long[] run(int worker, Random rand);
+    }
 
-        /* 1) waveSizeLB ≤ Σ u_o x_o ≤ waveSizeUB */
-        IloLinearNumExpr totU = cplex.linearNumExpr();
-        for (int o = 0; o < numOrders; o++) totU.addTerm(unitsPerOrder[o], x[o]);
-        if (numOrders > 500) {
-            IloLinearNumExpr numSelectedOrders = cplex.linearNumExpr();
-            for (int o = 0; o < numOrders; o++) numSelectedOrders.addTerm(1.0, x[o]);
-            double upperBound = Math.min(numOrders - 1, ((waveSizeUB + waveSizeLB) / 2.0) + (numAisles / 4.0));
-            cplex.addLe(numSelectedOrders, upperBound);
+    /**
+     * Ejecuta {@code config.workers} copias de {@code body} en {@code pool} (el
+     * de {@link #solve}, compartido por todas las rebanadas), espera a todas y
+     * acumula sus estadísticas en {@code stats}.
+     */
+    private void runWorkers(ExecutorService pool, String phase, long[][] stats, Worker body) {
+        int workers = config.workers;
+        List<Future<long[]>> futures = new ArrayList<>(workers);
+        long seed = System.nanoTime();
+        for (int w = 0; w < workers; w++) {
+            int    id   = w;
+            Random rand = new Random(seed + 0x9E3779B97F4A7C15L * w);
+            futures.add(pool.submit(() -> body.run(id, rand)));
         }
-        cplex.addGe(totU, waveSizeLB);
-        cplex.addLe(totU, waveSizeUB);
-
-        /* 2) Σ y_a ≤ 20 */
-        IloLinearNumExpr totA = cplex.linearNumExpr();
-        for (int a = 0; a < numAisles; a++) totA.addTerm(1.0, y[a]);
-        cplex.addLe(totA, 20);
-
-        /* 3) Cobertura por ítem */
-        for (int i = 0; i < nItems; i++) {
-            IloLinearNumExpr demand = cplex.linearNumExpr();
-            IloLinearNumExpr supply = cplex.linearNumExpr();
-            for (int o = 0; o < numOrders; o++) {
-                Integer q = orders.get(o).get(i);
-                if (q != null && q > 0) demand.addTerm(q, x[o]);
-            }
-            for (int a = 0; a < numAisles; a++) {
-                Integer q = aisles.get(a).get(i);
-                if (q != null && q > 0) supply.addTerm(q, y[a]);
+        try {
+            for (int w = 0; w < workers; w++) {
+                long[] s = futures.get(w).get();       // {iteraciones, mejoras, ms}
+                for (int k = 0; k < 3; k++) stats[w][k] += s[k];
+                telemetry.count(phase, s[0], s[1], 0);
             }
-            cplex.addLe(demand, supply);
+        } catch (InterruptedException ex) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            futures.forEach(f -> f.cancel(true));
+            throw new RuntimeException("Error en " + phase + ": " + ex.getCause(), ex.getCause());
         }
+    }
 
-        /* 4) Productividad: Σ u_o x_o − ratio*Σ y_a ≥ 0 */
-        IloLinearNumExpr prod = cplex.linearNumExpr();
-        for (int o = 0; o < numOrders; o++) prod.addTerm(unitsPerOrder[o], x[o]);
-        for (int a = 0; a < numAisles; a++) prod.addTerm(-ratioConstraint, y[a]);
-        cplex.addGe(prod, 0.0);
-
-        /* 5) Objetivo dummy */
-        cplex.addMaximize(cplex.linearNumExpr());
-
-        ChallengeSolution res = null;
-        if (cplex.solve()) {
-            Set<Integer> so = new HashSet<>();
-            Set<Integer> sa = new HashSet<>();
-            for (int o = 0; o < numOrders; o++)
-                if (cplex.getValue(x[o]) > 0.5) so.add(o);
-            for (int a = 0; a < numAisles; a++)
-                if (cplex.getValue(y[a]) > 0.5) sa.add(a);
-            res = new ChallengeSolution(so, sa);
+    /** Iteraciones/s por hilo acumuladas sobre todas las rebanadas. */
+    private static void reportWorkers(String phase, long[][] stats) {
+        for (int w = 0; w < stats.length; w++) {
+            double secs = Math.max(1, stats[w][2]) / 1000.0;
+            System.out.printf("%s worker %d: %d iter, %d mejoras, %.1f iter/s%n",
+                              phase, w, stats[w][0], stats[w][1], stats[w][0] / secs);
         }
-        cplex.end();
-        return res;
     }
 
     /* ──────────────────────────  GRASP constructivo  ───────────────────────── */
-    private ChallengeSolution constructiveGreedy(int[] unitsPerOrder) {
-        Random rand = new Random();
-        int numOrders = orders.size();
+    ChallengeSolution constructiveGreedy(int[] unitsPerOrder, Random rand, CancelToken token) {
+        return constructiveGreedy(unitsPerOrder, rand, token, 0.0);
+    }
+
+    /**
+     * Con {@code target} &gt; 0 se descartan los candidatos que dejan la ola con
+     * tantos pasillos que, según {@link RatioBounds}, ya no puede superar ese
+     * ratio (la construcción sólo añade pasillos).
+     */
+    ChallengeSolution constructiveGreedy(int[] unitsPerOrder, Random rand, CancelToken token, double target) {
+        int numOrders = instance.nOrders;
+        RatioBounds prune = target > 0 ? bounds : null;
 
         Set<Integer> curO = new HashSet<>();
-        Set<Integer> curA = new HashSet<>();
+        AisleSupply  curA = new AisleSupply(instance);
+        IntList scratch = new IntList();
 
         /* 1) arranque aleatorio */
         int first = rand.nextInt(numOrders);
         curO.add(first);
-        curA.addAll(greedyAddAislesForOrder(first, curA));
+        coverOrder(first, curA, scratch);
         int curUnits = unitsPerOrder[first];
         double curRatio = curUnits / (double) curA.size();
 
         /* 2) añadir mientras cumpla ratio */
         boolean improved = true;
-        while (improved && curUnits < waveSizeLB) {
+        while (improved && curUnits < waveSizeLB && !token.isCancelled()) {
             improved = false;
+            if (prune != null && prune.ratioWithAtLeast(curA.size()) <= target) break;
             List<OrderDelta> deltas = new ArrayList<>();
             for (int o = 0; o < numOrders; o++) {
                 if (curO.contains(o)) continue;
                 int nu = curUnits + unitsPerOrder[o];
                 if (nu > waveSizeUB) continue;
-                Set<Integer> addA = greedyAddAislesForOrder(o, curA);
-                double r = nu / (double)(curA.size() + addA.size());
-                deltas.add(new OrderDelta(o, r, addA));
+                scratch.clear();
+                greedyAddAislesForOrder(o, curA, scratch);
+                int na = curA.size() + scratch.size();
+                if (prune != null && prune.ratioWithAtLeast(na) <= target) continue;
+                double r = nu / (double) na;
+                deltas.add(new OrderDelta(o, r, scratch.toArray()));
             }
             if (deltas.isEmpty()) break;
             deltas.sort((d1,d2) -> Double.compare(d2.ratio, d1.ratio));
@@ -266,7 +516,7 @@ public class ChallengeSolver {
             OrderDelta pick = deltas.get(rand.nextInt(k));
             if (pick.ratio > curRatio) {
                 curO.add(pick.orderIdx);
-                curA.addAll(pick.addedAisles);
+                for (int a : pick.addedAisles) curA.open(a);
                 curUnits += unitsPerOrder[pick.orderIdx];
                 curRatio  = pick.ratio;
                 improved  = true;
@@ -283,107 +533,98 @@ public class ChallengeSolver {
                 if (curUnits >= waveSizeLB) break;
                 if (curUnits + unitsPerOrder[o] > waveSizeUB) continue;
                 curO.add(o);
-                curA.addAll(greedyAddAislesForOrder(o, curA));
+                coverOrder(o, curA, scratch);
                 curUnits += unitsPerOrder[o];
             }
         }
 
-        ChallengeSolution sol = new ChallengeSolution(curO, curA);
+        ChallengeSolution sol = new ChallengeSolution(curO, curA.toSet());
         if (!isSolutionFeasible(sol)) {       // fallback trivial
-            Set<Integer> fo = new HashSet<>(List.of(0));
-            Set<Integer> fa = greedyAddAislesForOrder(0, new HashSet<>());
-            sol = new ChallengeSolution(fo, fa);
+            sol = singleOrderSolution(0);
         }
         return sol;
     }
 
     /* ───────────────────────────  VND    ─────────────────────────── */
-    private ChallengeSolution vndLocalSearch(ChallengeSolution init,
-                                             int[] unitsPerOrder) {
-        Set<Integer> bestO = new HashSet<>(init.orders());
-        Set<Integer> bestA = new HashSet<>(init.aisles());
-        double bestR = computeObjectiveFunction(init);
+    /** VND de primera mejora sobre un {@link WaveState}: quitar, añadir e intercambiar
+     *  órdenes, evaluando cada movimiento como delta incremental. */
+    ChallengeSolution vndLocalSearch(ChallengeSolution init,
+                                             int[] unitsPerOrder,
+                                             CancelToken token) {
+        WaveState w = new WaveState(instance);
+        if (!w.load(init.orders(), init.aisles()) || !w.isFeasible()) return init;
+        int numOrders = instance.nOrders;
         boolean improv = true;
 
-        while (improv) {
+        while (improv && !token.isCancelled()) {
             improv = false;
 
             /* 1) intentar eliminar una orden */
-            for (int o : new HashSet<>(bestO)) {
-                Set<Integer> candO = new HashSet<>(bestO);
-                candO.remove(o);
-                Set<Integer> candA = new HashSet<>();
-                int candU = 0;
-                for (int oo : candO) {
-                    candU += unitsPerOrder[oo];
-                    candA.addAll(greedyAddAislesForOrder(oo, candA));
-                }
-                double r = candA.isEmpty() ? 0.0 : candU / (double)candA.size();
-                if (r > bestR && candU >= waveSizeLB && candU <= waveSizeUB) {
-                    bestO = candO; bestA = candA; bestR = r; improv = true; break;
+            for (int idx = 0; idx < w.numOrders(); idx++) {
+                int o = w.order(idx);
+                if (w.deltaRemove(o) > 0) {
+                    w.removeOrder(o); w.commit(); improv = true; break;
                 }
             }
             if (improv) continue;
 
             /* 2) intentar añadir una orden */
-            for (int o = 0; o < orders.size(); o++) {
-                if (bestO.contains(o)) continue;
-                Set<Integer> candO = new HashSet<>(bestO); candO.add(o);
-                int candU = 0;
-                Set<Integer> candA = new HashSet<>(bestA);
-                for (int oo : candO) {
-                    candU += unitsPerOrder[oo];
-                    candA.addAll(greedyAddAislesForOrder(oo, candA));
+            for (int o = 0; o < numOrders; o++) {
+                if (w.contains(o)) continue;
+                if (w.deltaAdd(o) > 0) {
+                    w.addOrder(o); w.commit(); improv = true; break;
                 }
-                if (candU > waveSizeUB) continue;
-                double r = candU / (double)candA.size();
-                if (r > bestR && candU >= waveSizeLB) {
-                    bestO = candO; bestA = candA; bestR = r; improv = true; break;
+            }
+            if (improv) continue;
+
+            /* 3) intercambio: sólo entradas con más unidades que la salida */
+            swap:
+            for (int idx = 0; idx < w.numOrders(); idx++) {
+                int out = w.order(idx);
+                if (token.isCancelled()) break;
+                for (int in = 0; in < numOrders; in++) {
+                    if (w.contains(in) || unitsPerOrder[in] <= unitsPerOrder[out]) continue;
+                    if (w.deltaSwap(out, in) > 0) {
+                        w.removeOrder(out); w.addOrder(in); w.commit(); improv = true; break swap;
+                    }
                 }
             }
         }
-        return new ChallengeSolution(bestO, bestA);
+        return w.toSolution();
     }
 
     /* ─────────────────── Greedy para cubrir una orden ─────────────────── */
-    private Set<Integer> greedyAddAislesForOrder(int orderIdx,
-                                                 Set<Integer> currentAisles) {
-        Set<Integer> added = new HashSet<>();
-        Map<Integer,Integer> demand = orders.get(orderIdx);
-
-        for (Map.Entry<Integer,Integer> e : demand.entrySet()) {
-            int item = e.getKey(), qty = e.getValue();
-            if (qty <= 0) continue;
-
-            /* verificar cobertura actual */
-            int covered = 0;
-            for (int a : currentAisles) {
-                covered += aisles.get(a).getOrDefault(item, 0);
-            }
-            if (covered >= qty) continue;
-
-            /* elegir pasillo con mejor suministro */
-            int bestA = -1, bestSup = 0;
-            for (int a = 0; a < aisles.size(); a++) {
-                if (currentAisles.contains(a) || added.contains(a)) continue;
-                int sup = aisles.get(a).getOrDefault(item, 0);
-                if (sup > bestSup) { bestSup = sup; bestA = a; }
-            }
-            if (bestA >= 0) added.add(bestA);
-        }
-        return added;
+    /** Deja en {@code added} los pasillos que el greedy abriría para la orden (vía índice ítem → pasillos). */
+    void greedyAddAislesForOrder(int orderIdx,
+                                         AisleSupply currentAisles,
+                                         IntList added) {
+        if (Telemetry.ENABLED) telemetry.coverCalls.increment();
+        currentAisles.greedyCover(orderIdx, added);
+    }
+
+    /** Cubre la orden y abre en {@code current} los pasillos propuestos. */
+    private void coverOrder(int orderIdx, AisleSupply current, IntList scratch) {
+        scratch.clear();
+        greedyAddAislesForOrder(orderIdx, current, scratch);
+        current.openAll(scratch);
     }
 
     /* ───────────────────────  Utilidades varias ─────────────────────── */
     private static class OrderDelta {
         final int orderIdx;
         final double ratio;
-        final Set<Integer> addedAisles;
-        OrderDelta(int orderIdx, double ratio, Set<Integer> addedAisles) {
+        final int[] addedAisles;
+        OrderDelta(int orderIdx, double ratio, int[] addedAisles) {
             this.orderIdx = orderIdx; this.ratio = ratio; this.addedAisles = addedAisles;
         }
     }
 
+    private ChallengeSolution singleOrderSolution(int order) {
+        AisleSupply fa = new AisleSupply(instance);
+        coverOrder(order, fa, new IntList());
+        return new ChallengeSolution(new HashSet<>(List.of(order)), fa.toSet());
+    }
+
     protected boolean isSolutionFeasible(ChallengeSolution sol) {
         Set<Integer> selO = sol.orders();
         Set<Integer> selA = sol.aisles();
@@ -392,13 +633,17 @@ public class ChallengeSolver {
         int[] picked   = new int[nItems];
         int[] supplied = new int[nItems];
 
-        for (int o : selO)
-            for (var e : orders.get(o).entrySet()) picked[e.getKey()] += e.getValue();
+        int totUnits = 0;
+        for (int o : selO) {
+            for (int k = instance.orderStart[o]; k < instance.orderStart[o + 1]; k++)
+                picked[instance.orderItem[k]] += instance.orderQty[k];
+            totUnits += instance.orderUnits[o];
+        }
 
         for (int a : selA)
-            for (var e : aisles.get(a).entrySet()) supplied[e.getKey()] += e.getValue();
+            for (int k = instance.aisleStart[a]; k < instance.aisleStart[a + 1]; k++)
+                supplied[instance.aisleItem[k]] += instance.aisleQty[k];
 
-        int totUnits = Arrays.stream(picked).sum();
         if (totUnits < waveSizeLB || totUnits > waveSizeUB || selA.size() > 20) return false;
         for (int i = 0; i < nItems; i++)
             if (picked[i] > supplied[i]) return false;
@@ -409,8 +654,8 @@ public class ChallengeSolver {
         Set<Integer> selO = sol.orders();
         Set<Integer> selA = sol.aisles();
         if (selO == null || selA == null || selO.isEmpty() || selA.isEmpty()) return 0.0;
-        int units = selO.stream().mapToInt(o -> orders.get(o).values().stream()
-                                     .mapToInt(Integer::intValue).sum()).sum();
+        int units = 0;
+        for (int o : selO) units += instance.orderUnits[o];
         return units / (double) selA.size();
     }
 }
\ No newline at end of file
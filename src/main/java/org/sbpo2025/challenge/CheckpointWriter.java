@@ -0,0 +1,115 @@
+package org.sbpo2025.challenge;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escritura anticipada del incumbente: cada mejora se deja en {@link #offer}
+ * (sin bloquear ni hacer E/S en el hilo de búsqueda) y un hilo de fondo la
+ * vuelca al fichero de salida con {@link SolutionFile}, como mucho una vez
+ * cada {@code intervalMs}. Un shutdown hook vuelca la última mejora pendiente,
+ * así que si el proceso muere por el {@code timeout} externo el fichero
+ * contiene la mejor ola conocida.
+ */
+final class CheckpointWriter implements AutoCloseable {
+    private final Path   output;
+    private final long   intervalMs;
+    private final Thread thread;
+    private final Thread hook;
+
+    private final AtomicReference<Incumbent.Entry> pending = new AtomicReference<>();
+    private volatile boolean closed;
+
+    /* protegidos por this */
+    private double writtenRatio = Double.NEGATIVE_INFINITY;
+    private long   lastWrite;
+    private int    writes;
+
+    private CheckpointWriter(Path output, long intervalMs) {
+        this.output     = output;
+        this.intervalMs = intervalMs;
+        this.thread     = new Thread(this::loop, "checkpoint-writer");
+        this.hook       = new Thread(this::flush, "checkpoint-flush");
+        thread.setDaemon(true);
+    }
+
+    /** Arranca el hilo de escritura y registra el shutdown hook. */
+    static CheckpointWriter start(Path output, long intervalMs) {
+        CheckpointWriter w = new CheckpointWriter(output, intervalMs);
+        w.thread.start();
+        Runtime.getRuntime().addShutdownHook(w.hook);
+        return w;
+    }
+
+    /** Anota una mejora; se queda la de mayor ratio. No bloquea. */
+    void offer(Incumbent.Entry entry) {
+        pending.accumulateAndGet(entry, (cur, e) -> cur == null || e.ratio() > cur.ratio() ? e : cur);
+        LockSupport.unpark(thread);
+    }
+
+    private void loop() {
+        while (!closed) {
+            Incumbent.Entry e = pending.get();
+            if (e == null || e.ratio() <= writtenRatio()) {
+                LockSupport.park(this);
+                continue;
+            }
+            long wait = lastWrite() + intervalMs - System.currentTimeMillis();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait * 1_000_000L);
+                continue;
+            }
+            flush();
+        }
+    }
+
+    /** Escribe la mejor mejora pendiente si aún no está en disco. */
+    synchronized void flush() {
+        Incumbent.Entry e = pending.get();
+        if (e == null || e.ratio() <= writtenRatio) return;
+        try {
+            SolutionFile.write(output, e.solution());
+            writtenRatio = e.ratio();
+            lastWrite    = System.currentTimeMillis();
+            writes++;
+        } catch (IOException ex) {
+            System.err.println("Checkpoint: error writing " + output + ": " + ex.getMessage());
+            lastWrite = System.currentTimeMillis();       // reintenta tras el intervalo
+        }
+    }
+
+    private synchronized double writtenRatio() {
+        return writtenRatio;
+    }
+
+    private synchronized long lastWrite() {
+        return lastWrite;
+    }
+
+    /**
+     * Detiene el hilo y retira el hook sin escribir más: la salida final la
+     * escribe {@link Challenge#writeOutput}. El resumen queda en {@link #toString}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(hook);
+        } catch (IllegalStateException ex) {
+            // apagado en curso: el hook ya corre y sólo escribe si hay algo mejor
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("Checkpoint: %d escrituras, último ratio %.4f", writes, writtenRatio);
+    }
+}
@@ -0,0 +1,243 @@
+package org.sbpo2025.challenge;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import ilog.concert.*;
+import ilog.cplex.IloCplex;
+
+/**
+ * Submodelo de la bisección con CPLEX. Es la única clase que depende de
+ * {@code ilog.*}: el perfil {@code -DnoCplex} la excluye de la compilación y
+ * {@link RatioBackend#load} la carga por reflexión.
+ *
+ * El modelo se construye una sola vez (en la primera llamada) y sigue vivo
+ * durante toda la bisección: cada {@link #solve} sólo reescribe los
+ * coeficientes −r de los pasillos en la restricción de productividad, carga
+ * la ola de arranque como MIP start y para en la primera solución factible.
+ * El paso de Dinkelbach usa el mismo modelo: anula esa restricción y pone
+ * Σ u_o x_o − λ Σ y_a como objetivo. Si el token se cancela a mitad de la
+ * construcción se libera el modelo a medias, la llamada devuelve UNKNOWN y la
+ * siguiente empieza de nuevo.
+ *
+ * El modelo es exacto (sin cotas heurísticas sobre el número de órdenes): una
+ * respuesta infactible es una demostración y la bisección y Dinkelbach bajan
+ * con ella la cota superior que cierra el gap.
+ */
+final class CplexRatioBackend implements RatioBackend {
+    private static final double PARAMETRIC_EPS = 1e-6;
+
+    private final Instance inst;
+    private final int      threads;
+
+    private IloCplex         cplex;
+    private IloNumVar[]      x;            // órdenes
+    private IloNumVar[]      y;            // pasillos
+    private IloRange         prod;         // Σ u_o x_o − r Σ y_a ≥ 0
+    private IloObjective     obj;          // 0 (bisección) o Σ u_o x_o − λ Σ y_a (Dinkelbach)
+    private boolean          parametric;
+    private IloNumVar[]      startVars;    // x ‖ y, para los MIP starts
+    private double[]         startVals;
+    private double[]         ratioCoefs;
+    private double[]         unitCoefs;
+    private IloCplex.Aborter aborter;
+
+    CplexRatioBackend(Instance inst, int threads) {
+        this.inst    = inst;
+        this.threads = threads;
+    }
+
+    @Override
+    public Result solve(double ratio, ChallengeSolution warmStart, CancelToken token) {
+        try {
+            if (cplex == null && !build(token)) return Result.UNKNOWN;
+            return solveForRatio(ratio, warmStart, token);
+        } catch (IloException ex) {
+            throw new BackendException("Error en CPLEX: " + ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public Result maximizeParametric(double lambda, ChallengeSolution warmStart, CancelToken token) {
+        try {
+            if (cplex == null && !build(token)) return Result.UNKNOWN;
+            return solveParametric(lambda, warmStart, token);
+        } catch (IloException ex) {
+            throw new BackendException("Error en CPLEX: " + ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (cplex != null) {
+            cplex.end();
+            cplex = null;
+        }
+    }
+
+    /* ─────────────────────── Modelo (una sola vez) ─────────────────────── */
+    /** Construye el modelo; false (y el modelo a medias liberado) si {@code token} se cancela. */
+    private boolean build(CancelToken token) throws IloException {
+        IloCplex cplex = new IloCplex();
+        boolean  built = false;
+        try {
+            built = populate(cplex, token);
+            if (built) this.cplex = cplex;
+            return built;
+        } finally {
+            if (!built) cplex.end();
+        }
+    }
+
+    private boolean populate(IloCplex cplex, CancelToken token) throws IloException {
+        int   numOrders     = inst.nOrders;
+        int   numAisles     = inst.nAisles;
+        int   nItems        = inst.nItems;
+        int   waveSizeLB    = inst.waveSizeLB;
+        int   waveSizeUB    = inst.waveSizeUB;
+        int[] unitsPerOrder = inst.orderUnits;
+
+        cplex.setParam(IloCplex.Param.Threads, threads);
+        cplex.setParam(IloCplex.Param.MIP.Limits.Solutions, 1);     // basta con una ola factible
+        cplex.setParam(IloCplex.Param.Emphasis.MIP, 1);             // énfasis en factibilidad
+        cplex.setOut(null);
+        aborter = cplex.use(new IloCplex.Aborter());
+
+        x = cplex.boolVarArray(numOrders);
+        y = cplex.boolVarArray(numAisles);
+
+        /* 1) waveSizeLB ≤ Σ u_o x_o ≤ waveSizeUB */
+        IloLinearNumExpr totU = cplex.linearNumExpr();
+        for (int o = 0; o < numOrders; o++) totU.addTerm(unitsPerOrder[o], x[o]);
+        if (token.isCancelled()) return false;
+        cplex.addGe(totU, waveSizeLB);
+        cplex.addLe(totU, waveSizeUB);
+
+        /* 2) Σ y_a ≤ 20 */
+        IloLinearNumExpr totA = cplex.linearNumExpr();
+        for (int a = 0; a < numAisles; a++) totA.addTerm(1.0, y[a]);
+        cplex.addLe(totA, WaveState.MAX_AISLES);
+
+        /* 3) Cobertura por ítem: una pasada sobre las filas CSR */
+        IloLinearNumExpr[] demand = new IloLinearNumExpr[nItems];
+        IloLinearNumExpr[] supply = new IloLinearNumExpr[nItems];
+        for (int i = 0; i < nItems; i++) {
+            demand[i] = cplex.linearNumExpr();
+            supply[i] = cplex.linearNumExpr();
+        }
+        for (int o = 0; o < numOrders; o++) {
+            if (token.isCancelled()) return false;
+            for (int k = inst.orderStart[o]; k < inst.orderStart[o + 1]; k++)
+                if (inst.orderQty[k] > 0) demand[inst.orderItem[k]].addTerm(inst.orderQty[k], x[o]);
+        }
+        for (int a = 0; a < numAisles; a++) {
+            if (token.isCancelled()) return false;
+            for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1]; k++)
+                if (inst.aisleQty[k] > 0) supply[inst.aisleItem[k]].addTerm(inst.aisleQty[k], y[a]);
+        }
+        for (int i = 0; i < nItems; i++) {
+            if (token.isCancelled()) return false;
+            cplex.addLe(demand[i], supply[i]);
+        }
+
+        /* 4) Productividad: Σ u_o x_o − ratio*Σ y_a ≥ 0 (el ratio se fija en cada solve) */
+        IloLinearNumExpr p = cplex.linearNumExpr();
+        for (int o = 0; o < numOrders; o++) p.addTerm(unitsPerOrder[o], x[o]);
+        prod = cplex.addGe(p, 0.0);
+
+        /* 5) Objetivo dummy (lo rellena el modo paramétrico) */
+        obj = cplex.addMaximize(cplex.linearNumExpr());
+
+        startVars = new IloNumVar[numOrders + numAisles];
+        System.arraycopy(x, 0, startVars, 0, numOrders);
+        System.arraycopy(y, 0, startVars, numOrders, numAisles);
+        startVals  = new double[numOrders + numAisles];
+        ratioCoefs = new double[numAisles];
+        unitCoefs  = new double[numOrders];
+        for (int o = 0; o < numOrders; o++) unitCoefs[o] = unitsPerOrder[o];
+        return true;
+    }
+
+    /* ──────────────────────  SUBMODELO: ratio mínimo  ─────────────────────── */
+    private Result solveForRatio(double ratioConstraint, ChallengeSolution warmStart,
+                                 CancelToken token) throws IloException {
+        setParametric(false);
+        Arrays.fill(ratioCoefs, -ratioConstraint);
+        cplex.setLinearCoefs(prod, y, ratioCoefs);
+        loadStart(warmStart);
+
+        aborter.clear();
+        try (CancelToken.Registration reg = token.onCancel(aborter::abort)) {
+            cplex.setParam(IloCplex.Param.TimeLimit, Math.max(0.1, token.remainingMillis() / 1000.0));
+            if (cplex.solve()) return Result.feasible(currentWave());
+            return cplex.getStatus() == IloCplex.Status.Infeasible ? Result.INFEASIBLE : Result.UNKNOWN;
+        }
+    }
+
+    /* ──────────────────  SUBMODELO: paso de Dinkelbach  ─────────────────── */
+    private Result solveParametric(double lambda, ChallengeSolution warmStart,
+                                   CancelToken token) throws IloException {
+        setParametric(true);
+        Arrays.fill(ratioCoefs, -lambda);
+        cplex.setLinearCoefs(obj, y, ratioCoefs);
+        loadStart(warmStart);
+
+        aborter.clear();
+        try (CancelToken.Registration reg = token.onCancel(aborter::abort)) {
+            cplex.setParam(IloCplex.Param.TimeLimit, Math.max(0.1, token.remainingMillis() / 1000.0));
+            boolean found = cplex.solve();
+            IloCplex.Status status = cplex.getStatus();
+            if (status == IloCplex.Status.Infeasible) return Result.INFEASIBLE;
+            if (found && cplex.getObjValue() > PARAMETRIC_EPS) return Result.feasible(currentWave());
+            if (status == IloCplex.Status.Optimal
+                    || (found && cplex.getBestObjValue() <= PARAMETRIC_EPS)) return Result.INFEASIBLE;
+            return Result.UNKNOWN;
+        }
+    }
+
+    /**
+     * Alterna entre el submodelo de factibilidad (objetivo nulo, parar en la
+     * primera solución) y el paramétrico (productividad anulada, buscar el
+     * óptimo).
+     */
+    private void setParametric(boolean on) throws IloException {
+        if (parametric == on) return;
+        Arrays.fill(ratioCoefs, 0.0);
+        if (on) {
+            cplex.setLinearCoefs(prod, y, ratioCoefs);              // Σ u_o x_o ≥ 0: siempre cierta
+            cplex.setLinearCoefs(obj, x, unitCoefs);
+            cplex.setParam(IloCplex.Param.MIP.Limits.Solutions, Integer.MAX_VALUE);
+            cplex.setParam(IloCplex.Param.Emphasis.MIP, 0);
+        } else {
+            cplex.setLinearCoefs(obj, x, new double[inst.nOrders]);
+            cplex.setLinearCoefs(obj, y, ratioCoefs);
+            cplex.setParam(IloCplex.Param.MIP.Limits.Solutions, 1);
+            cplex.setParam(IloCplex.Param.Emphasis.MIP, 1);
+        }
+        parametric = on;
+    }
+
+    /** Sustituye los MIP starts por {@code warmStart} (si lo hay). */
+    private void loadStart(ChallengeSolution warmStart) throws IloException {
+        if (cplex.getNMIPStarts() > 0) cplex.deleteMIPStarts(0, cplex.getNMIPStarts());
+        if (warmStart != null) {
+            Arrays.fill(startVals, 0.0);
+            for (int o : warmStart.orders()) startVals[o] = 1.0;
+            for (int a : warmStart.aisles()) startVals[inst.nOrders + a] = 1.0;
+            cplex.addMIPStart(startVars, startVals, IloCplex.MIPStartEffort.Repair);
+        }
+    }
+
+    private ChallengeSolution currentWave() throws IloException {
+        double[] xv = cplex.getValues(x);
+        double[] yv = cplex.getValues(y);
+        Set<Integer> so = new HashSet<>();
+        Set<Integer> sa = new HashSet<>();
+        for (int o = 0; o < inst.nOrders; o++)
+            if (xv[o] > 0.5) so.add(o);
+        for (int a = 0; a < inst.nAisles; a++)
+            if (yv[a] > 0.5) sa.add(a);
+        return new ChallengeSolution(so, sa);
+    }
+}
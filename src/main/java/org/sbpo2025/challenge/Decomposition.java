@@ -0,0 +1,220 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Descomposición por similitud para instancias muy grandes ({@code --decompose}).
+ *
+ * Las olas buenas juntan pasillos grandes que comparten ítems (en
+ * {@code b/instance_0011} la similitud de Jaccard media entre los pasillos de
+ * la mejor ola conocida triplica la de dos pasillos al azar), así que se
+ * agrupan pasillos y las órdenes siguen a sus ítems. Cada pasillo se resume
+ * con una firma MinHash de su conjunto de ítems ({@link #HASHES} funciones);
+ * con unos cientos de pasillos basta comparar todas las firmas, sin cubetas
+ * LSH. Cada grupo es un pasillo semilla (el de más capacidad útil aún sin
+ * grupo) con sus {@link #CLUSTER_AISLES} − 1 vecinos más parecidos (los grupos
+ * pueden solaparse), y sus órdenes son las que esos pasillos sirven por
+ * completo. En los pedidos de un solo ítem de {@code datasets/b} agrupar
+ * órdenes por sus ítems no juntaría nada.
+ *
+ * Se acotan los grupos ({@link RatioBounds} sobre su subinstancia) y los más
+ * prometedores se resuelven en paralelo con {@link ChallengeSolver}, un hilo
+ * cada uno; un subproblema que falla se anota en {@link #failures} y se
+ * descarta sin perder los demás. Sus olas, ya en ids originales, arrancan la búsqueda completa,
+ * que las pule y las combina entre grupos (path relinking sobre el pool de
+ * élite).
+ */
+final class Decomposition {
+    /** Fracción del tiempo restante para los subproblemas. */
+    static final double SHARE = 0.25;
+
+    private static final int HASHES               = 128;
+    private static final int CLUSTER_AISLES       = 40;
+    private static final int CANDIDATES_PER_SOLVE = 3;
+
+    /** Grupo de pasillos (ids originales) y la subinstancia con las órdenes que sirven. */
+    record Cluster(int[] aisles, Presolve sub, double bound) { }
+
+    /** Olas de los subproblemas en ids originales (sin comprobar). */
+    final List<ChallengeSolution> solutions = new ArrayList<>();
+    /** Errores de los subproblemas descartados. */
+    final List<Throwable>         failures  = new ArrayList<>();
+
+    private int    candidates, solved;
+    private double bestBound;
+    private long   clusterMs, elapsedMs;
+
+    Decomposition() {
+    }
+
+    /** Agrupa y resuelve los grupos prometedores hasta que se cancele {@code token}. */
+    static Decomposition run(Instance inst, SolverConfig config, CancelToken token) {
+        long t0 = System.currentTimeMillis();
+        Decomposition d = new Decomposition();
+        int toSolve = Math.max(2, config.workers);
+        List<Cluster> all = clusters(inst, CANDIDATES_PER_SOLVE * toSolve, new Random(inst.nOrders * 31L + inst.nAisles));
+        d.clusterMs  = System.currentTimeMillis() - t0;
+        d.candidates = all.size();
+
+        all.sort((c1, c2) -> Double.compare(c2.bound(), c1.bound()));
+        List<Cluster> chosen = new ArrayList<>();
+        for (Cluster c : all) {
+            if (chosen.size() == toSolve || c.bound() <= 0) break;
+            chosen.add(c);
+        }
+        if (!chosen.isEmpty()) d.bestBound = chosen.get(0).bound();
+
+        d.solveAll(chosen, config, token);
+        d.elapsedMs = System.currentTimeMillis() - t0;
+        return d;
+    }
+
+    /** Un {@link ChallengeSolver} de un hilo por subinstancia, repartiendo el plazo en tandas. */
+    void solveAll(List<Cluster> clusters, SolverConfig config, CancelToken token) {
+        if (clusters.isEmpty() || token.isCancelled()) return;
+        int  threads = Math.min(config.workers, clusters.size());
+        int  rounds  = (clusters.size() + threads - 1) / threads;
+        long budget  = Math.max(1, token.remainingMillis() / rounds);
+        SolverConfig subConfig = SolverConfig.builder()
+                .workers(1).timeLimitMs(budget).stallMs(budget).gap(config.gap)
+                .checkpointMs(0).ratioMode(config.ratioMode).presolve(false)
+                .build();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<ChallengeSolution>> futures = new ArrayList<>(clusters.size());
+        for (Cluster c : clusters)
+            futures.add(pool.submit(() -> {
+                CancelToken own = token.child(System.currentTimeMillis() + budget);
+                ChallengeSolver solver = new ChallengeSolver(c.sub().reduced, subConfig);
+                solver.verbose(false);
+                return c.sub().restore(solver.solve(own));
+            }));
+        pool.shutdown();
+        try {
+            for (Future<ChallengeSolution> f : futures) {
+                try {
+                    ChallengeSolution s = f.get();
+                    if (s != null) { solutions.add(s); solved++; }
+                } catch (ExecutionException ex) {
+                    failures.add(ex.getCause());                  // se descarta el grupo, los demás siguen
+                }
+            }
+        } catch (InterruptedException ex) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* ─────────────────────────── Agrupamiento ─────────────────────────── */
+    /** Hasta {@code count} grupos de pasillos similares, con su subinstancia y su cota. */
+    static List<Cluster> clusters(Instance inst, int count, Random rand) {
+        int nA = inst.nAisles;
+        int[] sig = signatures(inst, rand);
+
+        /* capacidad útil de cada pasillo (acotada por la demanda total del ítem) */
+        long[] demand = new long[inst.nItems];
+        for (int k = 0; k < inst.orderItem.length; k++) demand[inst.orderItem[k]] += inst.orderQty[k];
+        long[] cap = new long[nA];
+        for (int a = 0; a < nA; a++)
+            for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1]; k++)
+                cap[a] += Math.min(demand[inst.aisleItem[k]], inst.aisleQty[k]);
+        Integer[] byCap = new Integer[nA];
+        for (int a = 0; a < nA; a++) byCap[a] = a;
+        Arrays.sort(byCap, (a1, a2) -> Long.compare(cap[a2], cap[a1]));
+
+        boolean[] grouped = new boolean[nA];
+        int       size    = Math.min(CLUSTER_AISLES, nA);
+        long[]    keys    = new long[nA];
+        List<Cluster> out = new ArrayList<>();
+        for (int seed : byCap) {
+            if (out.size() == count || cap[seed] == 0) break;
+            if (grouped[seed]) continue;
+
+            /* vecinos por similitud estimada (coincidencias de firma), desempate por capacidad */
+            sortedKeys(keys, cap, sig, seed);
+            int[] aisles = new int[size];
+            for (int j = 0; j < size; j++) {
+                aisles[j] = (int) (keys[nA - 1 - j] & 0xFFFFF);
+                grouped[aisles[j]] = true;
+            }
+            Presolve sub = restrict(inst, aisles);
+            if (sub.reduced == inst) continue;
+            out.add(new Cluster(aisles, sub, RatioBounds.compute(sub.reduced).upper()));
+        }
+        return out;
+    }
+
+    /** Claves {@code coincidencias << 52 | capacidad acotada << 20 | pasillo}, ordenadas ascendentes. */
+    private static void sortedKeys(long[] keys, long[] cap, int[] sig, int seed) {
+        for (int a = 0; a < keys.length; a++) {
+            long same = a == seed ? HASHES + 1 : matches(sig, seed, a);
+            keys[a] = same << 52 | Math.min(cap[a], (1L << 32) - 1) << 20 | a;
+        }
+        Arrays.sort(keys);
+    }
+
+    /** Firmas MinHash de los conjuntos de ítems de los pasillos ({@code HASHES} por pasillo). */
+    private static int[] signatures(Instance inst, Random rand) {
+        long[] seeds = new long[HASHES];
+        for (int h = 0; h < HASHES; h++) seeds[h] = rand.nextLong();
+        int[] sig = new int[inst.nAisles * HASHES];
+        Arrays.fill(sig, Integer.MAX_VALUE);
+        for (int a = 0; a < inst.nAisles; a++) {
+            int base = a * HASHES;
+            for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1]; k++) {
+                int item = inst.aisleItem[k];
+                for (int h = 0; h < HASHES; h++)
+                    sig[base + h] = Math.min(sig[base + h], (int) mix(seeds[h] + item));
+            }
+        }
+        return sig;
+    }
+
+    /** Funciones en que coinciden las firmas: ≈ Jaccard × {@code HASHES}. */
+    private static int matches(int[] sig, int a, int b) {
+        int same = 0;
+        for (int h = 0, pa = a * HASHES, pb = b * HASHES; h < HASHES; h++)
+            if (sig[pa + h] == sig[pb + h]) same++;
+        return same;
+    }
+
+    /** Subinstancia de un grupo: sus pasillos y las órdenes que sirven por completo. */
+    static Presolve restrict(Instance inst, int[] aisles) {
+        boolean[] keepAisle = new boolean[inst.nAisles];
+        long[]    supply    = new long[inst.nItems];
+        for (int a : aisles) {
+            keepAisle[a] = true;
+            for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1]; k++)
+                supply[inst.aisleItem[k]] += inst.aisleQty[k];
+        }
+        boolean[] keepOrder = new boolean[inst.nOrders];
+        for (int o = 0; o < inst.nOrders; o++) {
+            boolean ok = inst.orderUnits[o] <= inst.waveSizeUB;
+            for (int k = inst.orderStart[o]; k < inst.orderStart[o + 1] && ok; k++)
+                ok = supply[inst.orderItem[k]] >= inst.orderQty[k];
+            keepOrder[o] = ok;
+        }
+        return Presolve.restrict(inst, keepOrder, keepAisle);
+    }
+
+    /** SplitMix64. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Descomposición: %d grupos de %d pasillos en %d ms, %d subproblemas resueltos "
+                             + "(%d fallidos), mejor cota de grupo %.4f, %d ms",
+                             candidates, CLUSTER_AISLES, clusterMs, solved, failures.size(), bestBound, elapsedMs);
+    }
+}
@@ -0,0 +1,122 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Conjunto acotado de olas buenas y distintas entre sí, identificadas por su
+ * conjunto de pasillos. La distancia entre dos olas es el tamaño de la
+ * diferencia simétrica de sus pasillos; una ola a menos de
+ * {@link #MIN_DISTANCE} de otra del pool sólo entra sustituyéndola (si la
+ * mejora), y si no, sustituye a la peor cuando el pool está lleno. Así el
+ * pool no se llena de variantes del incumbente y el path relinking tiene
+ * extremos que combinar.
+ *
+ * Thread-safe (métodos sincronizados; el pool es pequeño).
+ */
+final class ElitePool {
+    static final int CAPACITY     = 10;
+    static final int MIN_DISTANCE = 4;
+
+    /** Ola del pool; {@code aisles} ordenado, {@code id} único para no repetir parejas. */
+    record Entry(long id, int[] aisles, ChallengeSolution solution, double ratio) { }
+
+    private final List<Entry> entries = new ArrayList<>(CAPACITY);
+    private long nextId;
+    private long offers;
+    private long accepted;
+
+    /** Ofrece una ola factible; true si entró en el pool. */
+    synchronized boolean offer(ChallengeSolution sol, double ratio) {
+        offers++;
+        int[] key = sortedAisles(sol);
+        Entry closest = null, worst = null;
+        int   minDist = Integer.MAX_VALUE;
+        for (Entry e : entries) {
+            int d = distance(key, e.aisles());
+            if (d < minDist) { minDist = d; closest = e; }
+            if (worst == null || e.ratio() < worst.ratio()) worst = e;
+        }
+        Entry victim;
+        if (closest != null && minDist < MIN_DISTANCE) {
+            if (ratio <= closest.ratio()) return false;
+            victim = closest;
+        } else if (entries.size() < CAPACITY) {
+            victim = null;
+        } else {
+            if (ratio <= worst.ratio()) return false;
+            victim = worst;
+        }
+        if (victim != null) entries.remove(victim);
+        entries.add(new Entry(nextId++, key, sol, ratio));
+        accepted++;
+        return true;
+    }
+
+    /**
+     * Pareja al azar que aún no esté en {@code tried} (la marca), o null si
+     * no queda ninguna; la primera de la pareja es la de mejor ratio.
+     */
+    synchronized Entry[] pair(Random rand, Set<Long> tried) {
+        List<Entry[]> open = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++)
+            for (int j = i + 1; j < entries.size(); j++) {
+                Entry a = entries.get(i), b = entries.get(j);
+                if (!tried.contains(pairKey(a, b)))
+                    open.add(a.ratio() >= b.ratio() ? new Entry[]{a, b} : new Entry[]{b, a});
+            }
+        if (open.isEmpty()) return null;
+        Entry[] p = open.get(rand.nextInt(open.size()));
+        tried.add(pairKey(p[0], p[1]));
+        return p;
+    }
+
+    /** Olas del pool, de mejor a peor ratio. */
+    synchronized List<ChallengeSolution> solutions() {
+        return entries.stream()
+                      .sorted((e1, e2) -> Double.compare(e2.ratio(), e1.ratio()))
+                      .map(Entry::solution)
+                      .toList();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static long pairKey(Entry a, Entry b) {
+        long lo = Math.min(a.id(), b.id()), hi = Math.max(a.id(), b.id());
+        return lo << 32 | hi;
+    }
+
+    private static int[] sortedAisles(ChallengeSolution sol) {
+        return sol.aisles().stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /** |A Δ B| sobre arrays ordenados. */
+    static int distance(int[] a, int[] b) {
+        int i = 0, j = 0, common = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) { common++; i++; j++; }
+            else if (a[i] < b[j]) i++;
+            else j++;
+        }
+        return a.length + b.length - 2 * common;
+    }
+
+    @Override
+    public synchronized String toString() {
+        double lo = Double.POSITIVE_INFINITY, hi = 0, dist = 0;
+        int    pairs = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            lo = Math.min(lo, entries.get(i).ratio());
+            hi = Math.max(hi, entries.get(i).ratio());
+            for (int j = i + 1; j < entries.size(); j++, pairs++)
+                dist += distance(entries.get(i).aisles(), entries.get(j).aisles());
+        }
+        if (entries.isEmpty()) lo = 0;
+        return String.format("Élite: %d olas, ratio %.4f..%.4f, distancia media %.1f pasillos, %d/%d ofertas aceptadas",
+                             entries.size(), lo, hi, pairs > 0 ? dist / pairs : 0.0, accepted, offers);
+    }
+}
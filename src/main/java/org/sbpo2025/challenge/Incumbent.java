@@ -0,0 +1,50 @@
+package org.sbpo2025.challenge;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Mejor solución compartida entre hilos, sin locks: cada publicación es un
+ * compare-and-set que sólo prospera si mejora el ratio vigente. Un oyente
+ * opcional recibe cada mejora en el hilo que la publica (debe ser barato).
+ */
+final class Incumbent {
+
+    record Entry(ChallengeSolution solution, double ratio) { }
+
+    private static final Entry EMPTY = new Entry(null, Double.NEGATIVE_INFINITY);
+
+    private final AtomicReference<Entry> best = new AtomicReference<>(EMPTY);
+    private volatile Consumer<Entry> listener;
+
+    /** Oyente de mejoras (p. ej. {@link CheckpointWriter#offer}); null lo quita. */
+    void onImprovement(Consumer<Entry> listener) {
+        this.listener = listener;
+    }
+
+    /** Publica la solución si mejora estrictamente el ratio; devuelve true si quedó como incumbente. */
+    boolean offer(ChallengeSolution sol, double ratio) {
+        Entry cand = new Entry(sol, ratio);
+        while (true) {
+            Entry cur = best.get();
+            if (ratio <= cur.ratio()) return false;
+            if (best.compareAndSet(cur, cand)) {
+                Consumer<Entry> l = listener;
+                if (l != null) l.accept(cand);
+                return true;
+            }
+        }
+    }
+
+    ChallengeSolution solution() {
+        return best.get().solution();
+    }
+
+    double ratio() {
+        return best.get().ratio();
+    }
+
+    Entry get() {
+        return best.get();
+    }
+}
@@ -0,0 +1,348 @@
+package org.sbpo2025.challenge;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Modelo primitivo e inmutable de una instancia.
+ *
+ * Órdenes y pasillos se guardan en formato CSR: la fila {@code o} ocupa las
+ * posiciones {@code [orderStart[o], orderStart[o+1])} de {@code orderItem} /
+ * {@code orderQty}, con los ítems ordenados de forma ascendente. Además se
+ * precalculan las unidades por orden y la transpuesta ítem → pasillos, cuya
+ * fila de cada ítem está ordenada por suministro descendente (empates por
+ * índice de pasillo ascendente): el primer pasillo libre de la fila es el
+ * mejor proveedor. La transpuesta ítem → órdenes permite encontrar las
+ * órdenes que un conjunto de pasillos puede servir.
+ *
+ * Los cambios del backlog (modo multiola, {@link SolverSession}) no la
+ * modifican: {@link #afterWave}, {@link #withOrder}, {@link #withoutOrder} y
+ * {@link #withAisleStock} devuelven otra instancia, que comparte con esta los
+ * arrays del lado (órdenes o pasillos) que no cambia.
+ */
+public final class Instance {
+    final int nOrders;
+    final int nItems;
+    final int nAisles;
+    final int waveSizeLB;
+    final int waveSizeUB;
+
+    /* órdenes (CSR) */
+    final int[] orderStart;
+    final int[] orderItem;
+    final int[] orderQty;
+    final int[] orderUnits;
+
+    /* pasillos (CSR) */
+    final int[] aisleStart;
+    final int[] aisleItem;
+    final int[] aisleQty;
+    final int[] aisleUnits;
+
+    /* transpuesta ítem → pasillos que lo ofrecen, por suministro descendente */
+    final int[] itemAisleStart;
+    final int[] itemAisle;
+    final int[] itemAisleQty;
+
+    /* transpuesta ítem → órdenes que lo piden */
+    final int[] itemOrderStart;
+    final int[] itemOrder;
+    final int[] itemOrderQty;
+
+    final long totalUnitsRequested;
+
+    Instance(int nItems,
+             int[] orderStart, int[] orderItem, int[] orderQty,
+             int[] aisleStart, int[] aisleItem, int[] aisleQty,
+             int waveSizeLB, int waveSizeUB) {
+        this(nItems, waveSizeLB, waveSizeUB,
+             Rows.orders(nItems, orderStart, orderItem, orderQty, true),
+             Rows.aisles(nItems, aisleStart, aisleItem, aisleQty, true));
+    }
+
+    private Instance(int nItems, int waveSizeLB, int waveSizeUB, Rows orders, Rows aisles) {
+        this.nOrders    = orders.start.length - 1;
+        this.nItems     = nItems;
+        this.nAisles    = aisles.start.length - 1;
+        this.waveSizeLB = waveSizeLB;
+        this.waveSizeUB = waveSizeUB;
+
+        this.orderStart          = orders.start;
+        this.orderItem           = orders.item;
+        this.orderQty            = orders.qty;
+        this.orderUnits          = orders.units;
+        this.itemOrderStart      = orders.tStart;
+        this.itemOrder           = orders.tRow;
+        this.itemOrderQty        = orders.tQty;
+        this.totalUnitsRequested = orders.total;
+
+        this.aisleStart     = aisles.start;
+        this.aisleItem      = aisles.item;
+        this.aisleQty       = aisles.qty;
+        this.aisleUnits     = aisles.units;
+        this.itemAisleStart = aisles.tStart;
+        this.itemAisle      = aisles.tRow;
+        this.itemAisleQty   = aisles.tQty;
+    }
+
+    /**
+     * Un lado de la instancia: filas CSR ordenadas por ítem, sus sumas y la
+     * transpuesta ítem → fila. Las copias de {@link Instance} reutilizan el
+     * del lado que no cambia.
+     */
+    private record Rows(int[] start, int[] item, int[] qty, int[] units, long total,
+                        int[] tStart, int[] tRow, int[] tQty) {
+
+        static Rows orders(int nItems, int[] start, int[] item, int[] qty, boolean sort) {
+            return of(nItems, start, item, qty, sort, false);
+        }
+
+        /** Como {@link #orders}, con cada fila de la transpuesta por suministro descendente. */
+        static Rows aisles(int nItems, int[] start, int[] item, int[] qty, boolean sort) {
+            return of(nItems, start, item, qty, sort, true);
+        }
+
+        private static Rows of(int nItems, int[] start, int[] item, int[] qty, boolean sort, boolean bySupply) {
+            if (sort) sortRows(start, item, qty);
+            int[] units = rowSums(start, qty);
+            long total = 0;
+            for (int u : units) total += u;
+            int[] tStart = new int[nItems + 1], tRow = new int[item.length], tQty = new int[item.length];
+            transpose(start, item, qty, tStart, tRow, tQty);
+            if (bySupply)
+                for (int i = 0; i < nItems; i++) sortBySupplyDesc(tStart[i], tStart[i + 1], tRow, tQty);
+            return new Rows(start, item, qty, units, total, tStart, tRow, tQty);
+        }
+    }
+
+    private Rows orderRows() {
+        return new Rows(orderStart, orderItem, orderQty, orderUnits, totalUnitsRequested,
+                        itemOrderStart, itemOrder, itemOrderQty);
+    }
+
+    private Rows aisleRows() {
+        return new Rows(aisleStart, aisleItem, aisleQty, aisleUnits, 0,
+                        itemAisleStart, itemAisle, itemAisleQty);
+    }
+
+    /** Adaptador desde el modelo original basado en mapas. */
+    public static Instance fromMaps(List<Map<Integer, Integer>> orders,
+                                    List<Map<Integer, Integer>> aisles,
+                                    int nItems,
+                                    int waveSizeLB,
+                                    int waveSizeUB) {
+        int[][] o = toCsr(orders);
+        int[][] a = toCsr(aisles);
+        return new Instance(nItems, o[0], o[1], o[2], a[0], a[1], a[2], waveSizeLB, waveSizeUB);
+    }
+
+    private static int[][] toCsr(List<Map<Integer, Integer>> rows) {
+        int nnz = 0;
+        for (Map<Integer, Integer> r : rows) nnz += r.size();
+        int[] start = new int[rows.size() + 1];
+        int[] item  = new int[nnz];
+        int[] qty   = new int[nnz];
+        int k = 0;
+        for (int r = 0; r < rows.size(); r++) {
+            for (Map.Entry<Integer, Integer> e : rows.get(r).entrySet()) {
+                item[k] = e.getKey();
+                qty[k]  = e.getValue();
+                k++;
+            }
+            start[r + 1] = k;
+        }
+        return new int[][]{start, item, qty};
+    }
+
+    /* ───────────────────────────── Multiola ───────────────────────────── */
+    /**
+     * Lo que queda tras servir una ola: sus órdenes conservan el id y su fila
+     * pero con cantidades 0, y el stock de sus pasillos baja en lo recogido
+     * (cada ítem sale primero de los pasillos de la ola con más stock y, a
+     * igualdad, del de menor id). Copia las cantidades de ambos lados y
+     * rehace sumas y transpuestas, O(nnz) como {@link Presolve#restrict}.
+     *
+     * @throws IllegalArgumentException si los pasillos de la ola no cubren sus órdenes
+     */
+    Instance afterWave(ChallengeSolution wave) {
+        int[] oQty = orderQty.clone();
+        Map<Integer, Integer> need = new HashMap<>();
+        for (int o : wave.orders()) {
+            for (int k = orderStart[o]; k < orderStart[o + 1]; k++) {
+                if (oQty[k] > 0) need.merge(orderItem[k], oQty[k], Integer::sum);
+                oQty[k] = 0;
+            }
+        }
+        int[] aQty = aisleQty.clone();
+        for (Map.Entry<Integer, Integer> e : need.entrySet()) {
+            int item = e.getKey(), left = e.getValue();
+            for (int q = itemAisleStart[item]; q < itemAisleStart[item + 1] && left > 0; q++) {   // stock descendente
+                int a = itemAisle[q];
+                if (!wave.aisles().contains(a)) continue;
+                int k = indexOf(aisleStart[a], aisleStart[a + 1], aisleItem, item);
+                int take = Math.min(left, aQty[k]);
+                aQty[k] -= take;
+                left    -= take;
+            }
+            if (left > 0) throw new IllegalArgumentException("wave does not cover item " + item);
+        }
+        return new Instance(nItems, waveSizeLB, waveSizeUB,
+                            Rows.orders(nItems, orderStart, orderItem, oQty, false),
+                            Rows.aisles(nItems, aisleStart, aisleItem, aQty, false));
+    }
+
+    /** La ola sin órdenes vacías (servidas o canceladas); null si no queda ninguna. */
+    ChallengeSolution pending(ChallengeSolution sol) {
+        if (sol == null) return null;
+        Set<Integer> orders = new HashSet<>();
+        for (int o : sol.orders()) if (o < nOrders && orderUnits[o] > 0) orders.add(o);
+        return orders.isEmpty() ? null : new ChallengeSolution(orders, sol.aisles());
+    }
+
+    /* ─────────────────────────── Cambios en vivo ─────────────────────────── */
+    /**
+     * Copia con una orden más al final (id {@code nOrders}); comparte con esta
+     * el lado de los pasillos.
+     */
+    Instance withOrder(int[] items, int[] qty) {
+        int nnz = orderItem.length;
+        int[] start = Arrays.copyOf(orderStart, nOrders + 2);
+        int[] item  = Arrays.copyOf(orderItem, nnz + items.length);
+        int[] q     = Arrays.copyOf(orderQty, nnz + items.length);
+        System.arraycopy(items, 0, item, nnz, items.length);
+        System.arraycopy(qty, 0, q, nnz, qty.length);
+        start[nOrders + 1] = nnz + items.length;
+        return new Instance(nItems, waveSizeLB, waveSizeUB,
+                            Rows.orders(nItems, start, item, q, true), aisleRows());
+    }
+
+    /**
+     * Copia con la orden vacía (cancelada): conserva su id y su fila, con
+     * cantidades 0; comparte con esta el lado de los pasillos.
+     */
+    Instance withoutOrder(int o) {
+        int[] q = orderQty.clone();
+        Arrays.fill(q, orderStart[o], orderStart[o + 1], 0);
+        return new Instance(nItems, waveSizeLB, waveSizeUB,
+                            Rows.orders(nItems, orderStart, orderItem, q, false), aisleRows());
+    }
+
+    /**
+     * Copia con el stock de {@code item} en {@code aisle} fijado a
+     * {@code qty}; si el pasillo no tenía el ítem se inserta en su fila.
+     * Comparte con esta el lado de las órdenes.
+     */
+    Instance withAisleStock(int aisle, int item, int qty) {
+        int k = indexOf(aisleStart[aisle], aisleStart[aisle + 1], aisleItem, item);
+        if (k >= 0) {
+            int[] q = aisleQty.clone();
+            q[k] = qty;
+            return new Instance(nItems, waveSizeLB, waveSizeUB, orderRows(),
+                                Rows.aisles(nItems, aisleStart, aisleItem, q, false));
+        }
+        int nnz = aisleItem.length, at = aisleStart[aisle + 1];
+        int[] start = aisleStart.clone();
+        for (int a = aisle + 1; a <= nAisles; a++) start[a]++;
+        int[] it = new int[nnz + 1], q = new int[nnz + 1];
+        System.arraycopy(aisleItem, 0, it, 0, at);
+        System.arraycopy(aisleQty, 0, q, 0, at);
+        it[at] = item;
+        q[at]  = qty;
+        System.arraycopy(aisleItem, at, it, at + 1, nnz - at);
+        System.arraycopy(aisleQty, at, q, at + 1, nnz - at);
+        return new Instance(nItems, waveSizeLB, waveSizeUB, orderRows(),
+                            Rows.aisles(nItems, start, it, q, true));
+    }
+
+    /* ───────────────────────────── Consultas ───────────────────────────── */
+    public int numOrders()  { return nOrders; }
+    public int numItems()   { return nItems; }
+    public int numAisles()  { return nAisles; }
+    public int waveSizeLB() { return waveSizeLB; }
+    public int waveSizeUB() { return waveSizeUB; }
+
+    /** Cantidad del ítem en el pasillo (0 si no lo ofrece); búsqueda binaria en la fila. */
+    int aisleQuantity(int aisle, int item) {
+        int k = indexOf(aisleStart[aisle], aisleStart[aisle + 1], aisleItem, item);
+        return k < 0 ? 0 : aisleQty[k];
+    }
+
+    private static int indexOf(int from, int to, int[] items, int item) {
+        int lo = from, hi = to - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int v = items[mid];
+            if (v < item)      lo = mid + 1;
+            else if (v > item) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    /** Número de ítems distintos de la orden. */
+    int orderLength(int order) {
+        return orderStart[order + 1] - orderStart[order];
+    }
+
+    /* ─────────────────────────── Utilidades CSR ─────────────────────────── */
+    /** Transpone filas CSR (fila → ítem) a ítem → fila con dos pasadas de conteo. */
+    private static void transpose(int[] start, int[] item, int[] qty,
+                                  int[] tStart, int[] tRow, int[] tQty) {
+        int n = tStart.length - 1;
+        for (int k = 0; k < item.length; k++) tStart[item[k] + 1]++;
+        for (int i = 0; i < n; i++) tStart[i + 1] += tStart[i];
+        int[] fill = new int[n];
+        for (int r = 0; r + 1 < start.length; r++) {
+            for (int k = start[r]; k < start[r + 1]; k++) {
+                int i   = item[k];
+                int pos = tStart[i] + fill[i]++;
+                tRow[pos] = r;
+                tQty[pos] = qty[k];
+            }
+        }
+    }
+
+    private static int[] rowSums(int[] start, int[] qty) {
+        int[] sums = new int[start.length - 1];
+        for (int r = 0; r < sums.length; r++) {
+            int s = 0;
+            for (int k = start[r]; k < start[r + 1]; k++) s += qty[k];
+            sums[r] = s;
+        }
+        return sums;
+    }
+
+    /** Ordena un tramo por cantidad descendente; estable, así los empates quedan por pasillo. */
+    private static void sortBySupplyDesc(int from, int to, int[] aisle, int[] qty) {
+        for (int k = from + 1; k < to; k++) {
+            int a = aisle[k], q = qty[k], j = k - 1;
+            while (j >= from && qty[j] < q) {
+                aisle[j + 1] = aisle[j];
+                qty[j + 1]   = qty[j];
+                j--;
+            }
+            aisle[j + 1] = a;
+            qty[j + 1]   = q;
+        }
+    }
+
+    /** Ordena cada fila por ítem (las filas son cortas: inserción directa). */
+    private static void sortRows(int[] start, int[] item, int[] qty) {
+        for (int r = 0; r + 1 < start.length; r++) {
+            for (int k = start[r] + 1; k < start[r + 1]; k++) {
+                int it = item[k], q = qty[k], j = k - 1;
+                while (j >= start[r] && item[j] > it) {
+                    item[j + 1] = item[j];
+                    qty[j + 1]  = qty[j];
+                    j--;
+                }
+                item[j + 1] = it;
+                qty[j + 1]  = q;
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.sbpo2025.challenge;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lector de instancias sin copias: mapea el fichero con
+ * {@link FileChannel#map} y recorre los bytes directamente hacia los arreglos
+ * CSR de {@link Instance}, sin crear un String por línea ni por token. Ante
+ * una entrada mal formada lanza {@link InstanceFormatException} con línea y
+ * columna.
+ */
+final class InstanceParser {
+
+    /** Entrada mal formada; el mensaje incluye fichero, línea y columna. */
+    static final class InstanceFormatException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        InstanceFormatException(Path path, int line, int column, String message) {
+            super(path + ":" + line + ":" + column + ": " + message);
+        }
+    }
+
+    private final Path       path;
+    private final ByteBuffer buf;
+    private final int        limit;
+    private int pos;
+    private int line = 1;
+    private int lineStart;      // posición del primer byte de la línea actual
+
+    private InstanceParser(Path path, ByteBuffer buf) {
+        this.path  = path;
+        this.buf   = buf;
+        this.limit = buf.limit();
+    }
+
+    /** Lee la instancia mapeando el fichero en memoria. */
+    static Instance parse(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size > Integer.MAX_VALUE)
+                throw new IOException(path + ": file too large to map (" + size + " bytes)");
+            return new InstanceParser(path, ch.map(FileChannel.MapMode.READ_ONLY, 0, size)).read();
+        }
+    }
+
+    private Instance read() throws InstanceFormatException {
+        int nOrders = nextInt("number of orders", -1, 0, Integer.MAX_VALUE);
+        int nItems  = nextInt("number of items", -1, 0, Integer.MAX_VALUE);
+        int nAisles = nextInt("number of aisles", -1, 0, Integer.MAX_VALUE);
+
+        int[]   orderStart = new int[nOrders + 1];
+        IntList orderItems = new IntList(nOrders * 4);
+        IntList orderQtys  = new IntList(nOrders * 4);
+        readRows("order", nOrders, nItems, orderStart, orderItems, orderQtys);
+
+        int[]   aisleStart = new int[nAisles + 1];
+        IntList aisleItems = new IntList(nAisles * 4);
+        IntList aisleQtys  = new IntList(nAisles * 4);
+        readRows("aisle", nAisles, nItems, aisleStart, aisleItems, aisleQtys);
+
+        int waveSizeLB = nextInt("wave size lower bound", -1, 0, Integer.MAX_VALUE);
+        int waveSizeUB = nextInt("wave size upper bound", -1, waveSizeLB, Integer.MAX_VALUE);
+
+        return new Instance(nItems,
+                orderStart, orderItems.toArray(), orderQtys.toArray(),
+                aisleStart, aisleItems.toArray(), aisleQtys.toArray(),
+                waveSizeLB, waveSizeUB);
+    }
+
+    private void readRows(String kind, int nRows, int nItems, int[] rowStart,
+                          IntList items, IntList quantities) throws InstanceFormatException {
+        String count = "item count of " + kind, index = "item index in " + kind, qty = "item quantity in " + kind;
+        for (int r = 0; r < nRows; r++) {
+            int n = nextInt(count, r, 0, nItems);
+            for (int k = 0; k < n; k++) {
+                items.add(nextInt(index, r, 0, nItems - 1));
+                quantities.add(nextInt(qty, r, 0, Integer.MAX_VALUE));
+            }
+            rowStart[r + 1] = items.size();
+        }
+    }
+
+    /**
+     * Siguiente entero no negativo en [min, max]. {@code row} (o -1) completa
+     * la descripción del campo; los mensajes sólo se construyen si hay error.
+     */
+    private int nextInt(String what, int row, int min, int max) throws InstanceFormatException {
+        while (pos < limit) {
+            byte b = buf.get(pos);
+            if (b == '\n') { line++; lineStart = pos + 1; }
+            else if (b != ' ' && b != '\t' && b != '\r') break;
+            pos++;
+        }
+        if (pos >= limit) throw error(pos - lineStart + 1, "unexpected end of file, expected " + describe(what, row));
+
+        int  startCol = pos - lineStart + 1;
+        long value    = 0;
+        int  digits   = 0;
+        while (pos < limit) {
+            byte b = buf.get(pos);
+            if (b < '0' || b > '9') break;
+            value = value * 10 + (b - '0');
+            if (value > Integer.MAX_VALUE)
+                throw error(startCol, "integer overflow in " + describe(what, row));
+            digits++;
+            pos++;
+        }
+        if (digits == 0 || (pos < limit && !isSpace(buf.get(pos))))
+            throw error(startCol, "expected " + describe(what, row) + ", found '" + token() + "'");
+        if (value < min || value > max)
+            throw error(startCol, describe(what, row) + " out of range [" + min + ", " + max + "]: " + value);
+        return (int) value;
+    }
+
+    private static String describe(String what, int row) {
+        return row < 0 ? what : what + " " + row;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    /** Token que empieza en la posición de error (para el mensaje). */
+    private String token() {
+        int start = pos;
+        while (start > lineStart && !isSpace(buf.get(start - 1))) start--;
+        StringBuilder sb = new StringBuilder();
+        for (int p = start; p < limit && !isSpace(buf.get(p)) && sb.length() < 32; p++)
+            sb.append((char) (buf.get(p) & 0xFF));
+        return sb.toString();
+    }
+
+    private InstanceFormatException error(int column, String message) {
+        return new InstanceFormatException(path, line, column, message);
+    }
+
+    /* ───────────────────── Lector anterior (referencia) ───────────────────── */
+    /** Lector original con {@code BufferedReader} + {@code split}; se conserva para comparar en {@link ParseBenchmark}. */
+    static Instance parseBuffered(Path path) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(path.toFile()))) {
+            String[] firstLine = reader.readLine().split(" ");
+            int nOrders = Integer.parseInt(firstLine[0]);
+            int nItems  = Integer.parseInt(firstLine[1]);
+            int nAisles = Integer.parseInt(firstLine[2]);
+
+            int[]   orderStart = new int[nOrders + 1];
+            IntList orderItems = new IntList(nOrders * 4);
+            IntList orderQtys  = new IntList(nOrders * 4);
+            readBufferedRows(reader, nOrders, orderStart, orderItems, orderQtys);
+
+            int[]   aisleStart = new int[nAisles + 1];
+            IntList aisleItems = new IntList(nAisles * 4);
+            IntList aisleQtys  = new IntList(nAisles * 4);
+            readBufferedRows(reader, nAisles, aisleStart, aisleItems, aisleQtys);
+
+            String[] bounds = reader.readLine().split(" ");
+            return new Instance(nItems,
+                    orderStart, orderItems.toArray(), orderQtys.toArray(),
+                    aisleStart, aisleItems.toArray(), aisleQtys.toArray(),
+                    Integer.parseInt(bounds[0]), Integer.parseInt(bounds[1]));
+        }
+    }
+
+    private static void readBufferedRows(BufferedReader reader, int nLines, int[] rowStart,
+                                         IntList items, IntList quantities) throws IOException {
+        for (int rowIndex = 0; rowIndex < nLines; rowIndex++) {
+            String[] rowLine = reader.readLine().split(" ");
+            int nRowItems = Integer.parseInt(rowLine[0]);
+            for (int k = 0; k < nRowItems; k++) {
+                items.add(Integer.parseInt(rowLine[2 * k + 1]));
+                quantities.add(Integer.parseInt(rowLine[2 * k + 2]));
+            }
+            rowStart[rowIndex + 1] = items.size();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.sbpo2025.challenge;
+
+import java.util.Arrays;
+
+/** Lista de enteros primitivos que crece por duplicación (sin boxing). */
+final class IntList {
+    private int[] data;
+    private int   size;
+
+    IntList() {
+        this(16);
+    }
+
+    IntList(int capacity) {
+        data = new int[Math.max(1, capacity)];
+    }
+
+    void add(int v) {
+        if (size == data.length) data = Arrays.copyOf(data, data.length << 1);
+        data[size++] = v;
+    }
+
+    int get(int idx) {
+        return data[idx];
+    }
+
+    void set(int idx, int v) {
+        data[idx] = v;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /** Quita la última posición y la devuelve. */
+    int pop() {
+        return data[--size];
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+}
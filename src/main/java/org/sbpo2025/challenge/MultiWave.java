@@ -0,0 +1,103 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Modo multiola ({@code --waves n|all}): corta el backlog en olas sucesivas y
+ * disjuntas. Se resuelve una ola, se pasa a la instancia residual
+ * ({@link Instance#afterWave}: sus órdenes quedan vacías y el stock de sus
+ * pasillos baja en lo recogido) y se vuelve a resolver sobre lo que queda,
+ * hasta alcanzar el número de olas pedido o hasta que no se encuentre ola
+ * factible (o las unidades pendientes no lleguen a {@code waveSizeLB}).
+ *
+ * Entre olas no se vuelve a leer el fichero: la residual se construye en
+ * O(nnz) desde la anterior y el presolve retira las órdenes vacías. Las olas
+ * del pool de élite, quitando las órdenes ya servidas, arrancan la siguiente
+ * si siguen siendo factibles con el stock restante
+ * ({@link ChallengeSolver#seed}).
+ *
+ * Plazo: {@code --time-limit} para cada ola; la primera lo cuenta desde el
+ * arranque del programa (incluye la lectura), como el modo de una ola.
+ */
+final class MultiWave {
+    /** Ola servida (ids originales), con su ratio y tiempos en ms. */
+    record Wave(ChallengeSolution solution, long units, double ratio, long ms, long cumulativeMs) { }
+
+    private MultiWave() {
+    }
+
+    /** Extrae olas de {@code original} hasta agotar o llegar a {@code config.waves}. */
+    static List<Wave> run(Instance original, SolverConfig config, StopWatch stopWatch) {
+        int max = config.waves == 0 ? Integer.MAX_VALUE : config.waves;
+        Instance inst = original;
+        ChallengeSolver check = new ChallengeSolver(inst, config);
+        List<Wave> waves = new ArrayList<>();
+        List<ChallengeSolution> carry = List.of();
+
+        while (waves.size() < max && inst.totalUnitsRequested >= inst.waveSizeLB) {
+            long t0       = System.currentTimeMillis();
+            long deadline = waves.isEmpty() ? t0 + config.timeLimitMs - stopWatch.getDuration().toMillis()
+                                            : t0 + config.timeLimitMs;
+
+            Presolve presolve = config.presolve ? Presolve.run(inst) : Presolve.identity(inst);
+            ChallengeSolver solver = new ChallengeSolver(presolve.reduced, config);
+            solver.verbose(false);
+            List<ChallengeSolution> seeds = new ArrayList<>();
+            for (ChallengeSolution s : carry) {
+                ChallengeSolution r = presolve.reduce(s);
+                if (r != null) seeds.add(r);
+            }
+            solver.seed(seeds);
+            ChallengeSolution sol = inst.pending(presolve.restore(solver.solve(CancelToken.until(deadline))));
+            if (sol == null || !check.isSolutionFeasible(sol)) break;
+
+            double ratio = check.computeObjectiveFunction(sol);
+            long   units = 0;
+            for (int o : sol.orders()) units += inst.orderUnits[o];
+
+            Instance next = inst.afterWave(sol);
+            ChallengeSolver nextCheck = new ChallengeSolver(next, config);
+            carry = solver.eliteSolutions().stream()
+                          .map(e -> next.pending(presolve.restore(e)))
+                          .filter(s -> s != null && nextCheck.isSolutionFeasible(s))
+                          .toList();
+            inst  = next;
+            check = nextCheck;
+
+            long now = System.currentTimeMillis();
+            Wave w = new Wave(sol, units, ratio, now - t0, stopWatch.getDuration().toMillis());
+            waves.add(w);
+            System.out.printf("Ola %d: %d órdenes, %d pasillos, %d uds, ratio %.4f, %.1f s (acumulado %.1f s), "
+                              + "%d semillas heredadas%n",
+                              waves.size(), sol.orders().size(), sol.aisles().size(), units, ratio,
+                              w.ms() / 1000.0, w.cumulativeMs() / 1000.0, carry.size());
+        }
+        System.out.printf("Multiola: %d olas, %d uds pendientes%n", waves.size(), inst.totalUnitsRequested);
+        return waves;
+    }
+
+    /**
+     * Escribe el fichero multiola ({@link SolutionFile#writeWaves}) y, al lado,
+     * {@code <output>.waves.csv} con el ratio y los tiempos de cada ola.
+     */
+    static void write(Path output, List<Wave> waves) throws IOException {
+        SolutionFile.writeWaves(output, waves.stream().map(Wave::solution).toList());
+        List<String> csv = new ArrayList<>(waves.size() + 1);
+        csv.add("wave,orders,aisles,units,ratio,wave_ms,cumulative_ms");
+        for (int i = 0; i < waves.size(); i++) {
+            Wave w = waves.get(i);
+            csv.add(String.format(Locale.ROOT, "%d,%d,%d,%d,%.6f,%d,%d", i + 1,
+                                  w.solution().orders().size(), w.solution().aisles().size(),
+                                  w.units(), w.ratio(), w.ms(), w.cumulativeMs()));
+        }
+        Files.write(output.resolveSibling(output.getFileName() + ".waves.csv"), csv, StandardCharsets.UTF_8);
+    }
+}
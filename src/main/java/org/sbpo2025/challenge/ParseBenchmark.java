@@ -0,0 +1,74 @@
+package org.sbpo2025.challenge;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Compara el lector mapeado ({@link InstanceParser#parse}) con el lector
+ * anterior ({@link InstanceParser#parseBuffered}) sobre cada fichero de los
+ * directorios indicados: mediana de tiempo y bytes reservados por lectura.
+ *
+ * Uso: {@code java -cp target/ChallengeSBPO2025-1.0.jar org.sbpo2025.challenge.ParseBenchmark [dir...]}
+ * (por defecto {@code datasets/a datasets/b}).
+ */
+public final class ParseBenchmark {
+    private static final int WARMUP = 5;
+    private static final int RUNS   = 15;
+
+    private interface Parser {
+        Instance parse(Path p) throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Path> files = new ArrayList<>();
+        String[] dirs = args.length > 0 ? args : new String[]{"datasets/a", "datasets/b"};
+        for (String d : dirs) {
+            try (Stream<Path> s = Files.list(Path.of(d))) {
+                s.filter(p -> p.toString().endsWith(".txt")).sorted().forEach(files::add);
+            }
+        }
+
+        com.sun.management.ThreadMXBean mx =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        System.out.printf("%-32s %10s %12s %12s %14s %14s %8s%n",
+                "file", "bytes", "buffered ms", "mmap ms", "buffered alloc", "mmap alloc", "speedup");
+        for (Path f : files) {
+            double[] buffered = measure(f, InstanceParser::parseBuffered, mx);
+            double[] mapped   = measure(f, InstanceParser::parse, mx);
+            System.out.printf("%-32s %10d %12.2f %12.2f %14s %14s %7.1fx%n",
+                    f, Files.size(f), buffered[0], mapped[0],
+                    human(buffered[1]), human(mapped[1]), buffered[0] / Math.max(1e-9, mapped[0]));
+        }
+    }
+
+    /** {mediana ms, mediana bytes reservados} de {@code RUNS} lecturas tras {@code WARMUP}. */
+    private static double[] measure(Path f, Parser parser, com.sun.management.ThreadMXBean mx) throws IOException {
+        for (int i = 0; i < WARMUP; i++) parser.parse(f);
+        double[] ms    = new double[RUNS];
+        double[] alloc = new double[RUNS];
+        long tid = Thread.currentThread().getId();
+        for (int i = 0; i < RUNS; i++) {
+            long a0 = mx.getThreadAllocatedBytes(tid);
+            long t0 = System.nanoTime();
+            Instance inst = parser.parse(f);
+            ms[i]    = (System.nanoTime() - t0) / 1e6;
+            alloc[i] = mx.getThreadAllocatedBytes(tid) - a0;
+            if (inst.nOrders < 0) throw new IllegalStateException();   // mantiene viva la instancia
+        }
+        Arrays.sort(ms);
+        Arrays.sort(alloc);
+        return new double[]{ms[RUNS / 2], alloc[RUNS / 2]};
+    }
+
+    private static String human(double bytes) {
+        if (bytes >= 1 << 20) return String.format("%.1f MB", bytes / (1 << 20));
+        if (bytes >= 1 << 10) return String.format("%.1f KB", bytes / (1 << 10));
+        return String.format("%.0f B", bytes);
+    }
+}
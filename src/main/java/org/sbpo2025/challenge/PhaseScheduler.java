@@ -0,0 +1,168 @@
+package org.sbpo2025.challenge;
+
+import java.util.List;
+
+/**
+ * Reparte el tiempo entre fases de búsqueda por rondas. En cada ronda cada
+ * fase viva recibe una rebanada proporcional a su peso: el reparto inicial
+ * ({@link Phase#initialShare()}) multiplicado por su tasa de mejora observada
+ * (media móvil de la mejora relativa del incumbente por segundo). Una fase que
+ * no mejora conserva un mínimo para seguir explorando.
+ *
+ * Para antes del plazo cuando la brecha con la mejor cota superior conocida
+ * (la combinatoria de partida o la que demuestre alguna fase) se cierra,
+ * cuando ninguna fase mejora durante {@code config.stallMs} o cuando todas
+ * las fases se agotan. Las fases reciben un {@link CancelToken} hijo con el
+ * plazo de su rebanada y deben respetarlo.
+ */
+final class PhaseScheduler {
+    private static final long   MIN_SLICE_MS = 250;
+    private static final int    ROUNDS       = 12;     // rondas previstas en el plazo total
+    private static final double EXPLORE      = 0.2;    // peso mínimo relativo de una fase sin mejoras
+    private static final double SMOOTHING    = 0.5;
+
+    /** Una fase interrumpible: trabaja sobre el incumbente hasta que se cancele el testigo. */
+    interface Phase {
+        String name();
+
+        /** Peso a priori (antes de observar mejoras). */
+        double initialShare();
+
+        void runSlice(CancelToken token);
+
+        /** Sin más trabajo útil (p. ej. bisección convergida). */
+        default boolean isExhausted() {
+            return false;
+        }
+
+        /** Cota superior válida del ratio óptimo que la fase haya demostrado. */
+        default double upperBound() {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        /** Resumen al terminar (iteraciones por hilo, etc.). */
+        default void report() {
+        }
+
+        /** Libera recursos (p. ej. el modelo de CPLEX). */
+        default void close() {
+        }
+    }
+
+    private final List<Phase>  phases;
+    private final Incumbent    incumbent;
+    private final SolverConfig config;
+    private final Telemetry    telemetry;
+    private final double       staticBound;
+
+    private final double[] rate;         // mejora relativa por segundo (suavizada)
+    private final long[]   usedMs;
+    private final int[]    slices;
+    private String stopReason = "deadline";
+
+    PhaseScheduler(List<Phase> phases, Incumbent incumbent, SolverConfig config, Telemetry telemetry) {
+        this(phases, incumbent, config, telemetry, Double.POSITIVE_INFINITY);
+    }
+
+    /** {@code staticBound}: cota superior del ratio conocida de antemano ({@link RatioBounds}). */
+    PhaseScheduler(List<Phase> phases, Incumbent incumbent, SolverConfig config, Telemetry telemetry,
+                   double staticBound) {
+        this.phases      = phases;
+        this.incumbent   = incumbent;
+        this.config      = config;
+        this.telemetry   = telemetry;
+        this.staticBound = staticBound;
+        this.rate      = new double[phases.size()];
+        this.usedMs    = new long[phases.size()];
+        this.slices    = new int[phases.size()];
+    }
+
+    /** Reparte el tiempo hasta que se cancele {@code token} o se cumpla un criterio de parada; ver {@link #report}. */
+    void run(CancelToken token) {
+        try {
+            schedule(token);
+        } finally {
+            for (Phase p : phases) p.close();
+        }
+    }
+
+    private void schedule(CancelToken token) {
+        long lastImprovement = System.currentTimeMillis();
+        double lastRatio     = incumbent.ratio();
+        long roundMs         = Math.max(MIN_SLICE_MS, config.timeLimitMs / ROUNDS);
+
+        rounds:
+        while (!token.isCancelled()) {
+            double[] weight = weights();
+            double total = 0;
+            for (double w : weight) total += w;
+            if (total == 0) { stopReason = "all phases exhausted"; break; }
+
+            long budget = Math.min(roundMs, token.remainingMillis());
+            for (int p = 0; p < phases.size(); p++) {
+                if (weight[p] == 0) continue;
+                if (token.isCancelled()) break rounds;
+                Phase phase = phases.get(p);
+
+                long   slice  = Math.max(MIN_SLICE_MS, Math.round(budget * weight[p] / total));
+                double before = incumbent.ratio();
+                long   t0     = System.currentTimeMillis();
+                Telemetry.SliceEvent ev = Telemetry.beginSlice(phase.name(), before);
+                telemetry.phase(phase.name());
+                phase.runSlice(token.child(t0 + slice));
+                long   t1     = System.currentTimeMillis();
+                double after  = incumbent.ratio();
+                Telemetry.endSlice(ev, after);
+                telemetry.count(phase.name(), 0, 0, t1 - t0);
+
+                usedMs[p] += t1 - t0;
+                slices[p]++;
+                double gain = after > before ? (before > 0 ? (after - before) / before : 1.0) : 0.0;
+                rate[p] = SMOOTHING * rate[p] + (1 - SMOOTHING) * gain / Math.max(1e-3, (t1 - t0) / 1000.0);
+
+                if (after > lastRatio) {
+                    lastRatio       = after;
+                    lastImprovement = t1;
+                }
+                if (gapClosed()) { stopReason = "gap closed"; break rounds; }
+                if (t1 - lastImprovement >= config.stallMs) { stopReason = "stalled"; break rounds; }
+            }
+        }
+    }
+
+    /** Peso de cada fase en la ronda; 0 si está agotada. */
+    private double[] weights() {
+        double max = 0;
+        for (double r : rate) max = Math.max(max, r);
+        double[] w = new double[phases.size()];
+        for (int p = 0; p < phases.size(); p++) {
+            Phase phase = phases.get(p);
+            if (phase.isExhausted()) continue;
+            double relative = max > 0 ? rate[p] / max : 0;
+            w[p] = phase.initialShare() * (EXPLORE + relative);
+        }
+        return w;
+    }
+
+    /** Mejor cota superior: la de partida o la demostrada por alguna fase. */
+    double upperBound() {
+        double ub = staticBound;
+        for (Phase p : phases) ub = Math.min(ub, p.upperBound());
+        return ub;
+    }
+
+    private boolean gapClosed() {
+        double ub = upperBound(), lb = incumbent.ratio();
+        return lb > 0 && ub < Double.POSITIVE_INFINITY && ub - lb <= config.gap * ub;
+    }
+
+    /** Resumen por fase y motivo de parada. */
+    void report() {
+        for (Phase p : phases) p.report();
+        for (int p = 0; p < phases.size(); p++)
+            System.out.printf("Scheduler %s: %d rebanadas, %.1f s, tasa %.3g/s%n",
+                              phases.get(p).name(), slices[p], usedMs[p] / 1000.0, rate[p]);
+        System.out.printf("Scheduler: parada por %s, ratio %.4f, cota %.4f%n",
+                          stopReason, incumbent.ratio(), upperBound());
+    }
+}
@@ -0,0 +1,266 @@
+package org.sbpo2025.challenge;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Reducción exacta de la instancia antes de resolver: el óptimo de la
+ * instancia reducida es el de la original.
+ * <ul>
+ *   <li>Órdenes vacías (sin unidades, p. ej. ya servidas en el modo multiola).</li>
+ *   <li>Órdenes imposibles: más unidades que {@code waveSizeUB}, algún ítem con
+ *       más demanda que el suministro total, o algún ítem que por sí solo
+ *       necesita más de 20 pasillos (sus mayores suministros no alcanzan).</li>
+ *   <li>Ítems que ninguna orden restante pide.</li>
+ *   <li>Pasillos sin suministro útil y pasillos dominados (suministro, acotado
+ *       por la demanda, ≤ ítem a ítem) por al menos 20 pasillos conservados:
+ *       una ola que use uno de ellos deja libre alguno de sus dominadores, y
+ *       cambiar uno por otro mantiene la factibilidad y el número de pasillos.</li>
+ * </ul>
+ * Los índices se compactan; {@link #restore} devuelve las soluciones a los
+ * ids originales.
+ */
+final class Presolve {
+    final Instance original;
+    final Instance reduced;
+    private final int[] orderId;           // reducido → original
+    private final int[] aisleId;
+    private int[] orderIdx, aisleIdx;      // original → reducido (−1 si salió), bajo demanda
+
+    private int  emptyOrders, oversized, unservable, tooManyAisles;
+    private int  emptyAisles, dominatedAisles;
+    private long elapsedMs;
+
+    private Presolve(Instance original, Instance reduced, int[] orderId, int[] aisleId) {
+        this.original = original;
+        this.reduced  = reduced;
+        this.orderId  = orderId;
+        this.aisleId  = aisleId;
+    }
+
+    /** Sin reducción: la instancia tal cual. */
+    static Presolve identity(Instance inst) {
+        int[] o = new int[inst.nOrders], a = new int[inst.nAisles];
+        Arrays.setAll(o, i -> i);
+        Arrays.setAll(a, i -> i);
+        return new Presolve(inst, inst, o, a);
+    }
+
+    static Presolve run(Instance inst) {
+        long t0 = System.currentTimeMillis();
+        int maxAisles = Math.min(WaveState.MAX_AISLES, inst.nAisles);
+
+        /* 1) órdenes imposibles */
+        long[] supply = new long[inst.nItems];
+        for (int k = 0; k < inst.aisleItem.length; k++) supply[inst.aisleItem[k]] += inst.aisleQty[k];
+        boolean[] keepOrder = new boolean[inst.nOrders];
+        int emptyOrders = 0, oversized = 0, unservable = 0, tooMany = 0;
+        for (int o = 0; o < inst.nOrders; o++) {
+            if (inst.orderUnits[o] == 0) { emptyOrders++; continue; }
+            if (inst.orderUnits[o] > inst.waveSizeUB) { oversized++; continue; }
+            int reason = 0;
+            for (int k = inst.orderStart[o]; k < inst.orderStart[o + 1] && reason == 0; k++) {
+                int item = inst.orderItem[k], qty = inst.orderQty[k];
+                if (qty > supply[item]) reason = 1;
+                else if (aislesToCover(inst, item, qty) > maxAisles) reason = 2;
+            }
+            if (reason == 1) unservable++;
+            else if (reason == 2) tooMany++;
+            else keepOrder[o] = true;
+        }
+
+        /* 2) demanda de las órdenes restantes (los ítems sin demanda salen al compactar) */
+        long[] demand = demand(inst, keepOrder);
+
+        /* 3) pasillos vacíos y dominados, de mayor a menor capacidad útil */
+        long[] cap = new long[inst.nAisles];
+        for (int a = 0; a < inst.nAisles; a++)
+            for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1]; k++)
+                cap[a] += Math.min(demand[inst.aisleItem[k]], inst.aisleQty[k]);
+        Integer[] byCap = new Integer[inst.nAisles];
+        for (int a = 0; a < inst.nAisles; a++) byCap[a] = a;
+        Arrays.sort(byCap, (a1, a2) -> Long.compare(cap[a2], cap[a1]));
+        boolean[] keepAisle = new boolean[inst.nAisles];
+        int[] kept = new int[inst.nAisles];
+        int nKept = 0, empty = 0, dominated = 0;
+        for (int a : byCap) {
+            if (cap[a] == 0) { empty++; continue; }
+            int dominators = 0;
+            for (int j = 0; j < nKept && dominators < WaveState.MAX_AISLES; j++)
+                if (dominates(inst, demand, kept[j], a)) dominators++;
+            if (dominators >= WaveState.MAX_AISLES) { dominated++; continue; }
+            keepAisle[a] = true;
+            kept[nKept++] = a;
+        }
+
+        Presolve p = restrict(inst, keepOrder, keepAisle);
+        if (p.reduced != inst) {
+            p.emptyOrders     = emptyOrders;
+            p.oversized       = oversized;
+            p.unservable      = unservable;
+            p.tooManyAisles   = tooMany;
+            p.emptyAisles     = empty;
+            p.dominatedAisles = dominated;
+        }
+        p.elapsedMs = System.currentTimeMillis() - t0;
+        return p;
+    }
+
+    /**
+     * Subinstancia con las órdenes y pasillos marcados y los ítems que piden
+     * esas órdenes (la identidad si no queda ninguna orden o ningún pasillo).
+     * Con una selección arbitraria ya no es exacta: la usa también
+     * {@link Decomposition} para resolver grupos de órdenes por separado.
+     */
+    static Presolve restrict(Instance inst, boolean[] keepOrder, boolean[] keepAisle) {
+        int nOrders = 0, nAisles = 0;
+        for (boolean k : keepOrder) if (k) nOrders++;
+        for (boolean k : keepAisle) if (k) nAisles++;
+        if (nOrders == 0 || nAisles == 0) return identity(inst);     // nada que resolver: se deja igual
+
+        long[] demand = demand(inst, keepOrder);
+        int[] itemId = new int[inst.nItems];
+        int nItems = 0;
+        for (int i = 0; i < inst.nItems; i++) itemId[i] = demand[i] > 0 ? nItems++ : -1;
+
+        /* las líneas con cantidad 0 no se copian: su ítem puede no tener demanda y quedar sin id */
+        int[] orderId = new int[nOrders];
+        int[] oStart  = new int[nOrders + 1];
+        int   oNnz    = 0;
+        for (int o = 0, r = 0; o < inst.nOrders; o++) {
+            if (!keepOrder[o]) continue;
+            orderId[r] = o;
+            for (int k = inst.orderStart[o]; k < inst.orderStart[o + 1]; k++)
+                if (inst.orderQty[k] > 0) oNnz++;
+            oStart[++r] = oNnz;
+        }
+        int[] oItem = new int[oNnz], oQty = new int[oNnz];
+        for (int r = 0, q = 0; r < nOrders; r++) {
+            int o = orderId[r];
+            for (int k = inst.orderStart[o]; k < inst.orderStart[o + 1]; k++) {
+                if (inst.orderQty[k] <= 0) continue;
+                oItem[q] = itemId[inst.orderItem[k]];
+                oQty[q]  = inst.orderQty[k];
+                q++;
+            }
+        }
+
+        int[] aisleId = new int[nAisles];
+        int[] aStart  = new int[nAisles + 1];
+        int   aNnz    = 0;
+        for (int a = 0, r = 0; a < inst.nAisles; a++) {
+            if (!keepAisle[a]) continue;
+            aisleId[r] = a;
+            for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1]; k++)
+                if (itemId[inst.aisleItem[k]] >= 0) aNnz++;
+            aStart[++r] = aNnz;
+        }
+        int[] aItem = new int[aNnz], aQty = new int[aNnz];
+        for (int r = 0, q = 0; r < nAisles; r++) {
+            int a = aisleId[r];
+            for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1]; k++) {
+                if (itemId[inst.aisleItem[k]] < 0) continue;
+                aItem[q] = itemId[inst.aisleItem[k]];
+                aQty[q]  = inst.aisleQty[k];
+                q++;
+            }
+        }
+
+        Instance reduced = new Instance(nItems, oStart, oItem, oQty, aStart, aItem, aQty,
+                                        inst.waveSizeLB, inst.waveSizeUB);
+        return new Presolve(inst, reduced, orderId, aisleId);
+    }
+
+    /** Demanda total por ítem de las órdenes marcadas. */
+    private static long[] demand(Instance inst, boolean[] keepOrder) {
+        long[] demand = new long[inst.nItems];
+        for (int o = 0; o < inst.nOrders; o++)
+            if (keepOrder[o])
+                for (int k = inst.orderStart[o]; k < inst.orderStart[o + 1]; k++)
+                    demand[inst.orderItem[k]] += inst.orderQty[k];
+        return demand;
+    }
+
+    /** Mínimo de pasillos para reunir {@code qty} unidades de {@code item} (∞ si no se puede). */
+    private static int aislesToCover(Instance inst, int item, int qty) {
+        long got = 0;
+        for (int k = inst.itemAisleStart[item], n = 1; k < inst.itemAisleStart[item + 1]; k++, n++) {
+            got += inst.itemAisleQty[k];
+            if (got >= qty) return n;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /** min(D_i, s_bi) ≥ min(D_i, s_ai) para todo ítem (filas CSR ordenadas por ítem). */
+    private static boolean dominates(Instance inst, long[] demand, int b, int a) {
+        int kb = inst.aisleStart[b], endB = inst.aisleStart[b + 1];
+        for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1]; k++) {
+            int item = inst.aisleItem[k];
+            long need = Math.min(demand[item], inst.aisleQty[k]);
+            if (need == 0) continue;
+            while (kb < endB && inst.aisleItem[kb] < item) kb++;
+            if (kb == endB || inst.aisleItem[kb] != item) return false;
+            if (Math.min(demand[item], inst.aisleQty[kb]) < need) return false;
+        }
+        return true;
+    }
+
+    /** Solución de la instancia reducida en ids originales. */
+    ChallengeSolution restore(ChallengeSolution sol) {
+        if (sol == null || reduced == original) return sol;
+        Set<Integer> orders = new HashSet<>(), aisles = new HashSet<>();
+        for (int o : sol.orders()) orders.add(orderId[o]);
+        for (int a : sol.aisles()) aisles.add(aisleId[a]);
+        return new ChallengeSolution(orders, aisles);
+    }
+
+    Incumbent.Entry restore(Incumbent.Entry e) {
+        return new Incumbent.Entry(restore(e.solution()), e.ratio());
+    }
+
+    /** Solución en ids originales llevada a la instancia reducida, o null si usa órdenes o pasillos eliminados. */
+    ChallengeSolution reduce(ChallengeSolution sol) {
+        if (sol == null || reduced == original) return sol;
+        if (orderIdx == null) {
+            orderIdx = inverse(orderId, original.nOrders);
+            aisleIdx = inverse(aisleId, original.nAisles);
+        }
+        Set<Integer> orders = new HashSet<>(), aisles = new HashSet<>();
+        for (int o : sol.orders()) {
+            if (orderIdx[o] < 0) return null;
+            orders.add(orderIdx[o]);
+        }
+        for (int a : sol.aisles()) {
+            if (aisleIdx[a] < 0) return null;
+            aisles.add(aisleIdx[a]);
+        }
+        return new ChallengeSolution(orders, aisles);
+    }
+
+    private static int[] inverse(int[] ids, int n) {
+        int[] inv = new int[n];
+        Arrays.fill(inv, -1);
+        for (int r = 0; r < ids.length; r++) inv[ids[r]] = r;
+        return inv;
+    }
+
+    private static long nnz(Instance inst) {
+        return inst.orderItem.length + inst.aisleItem.length;
+    }
+
+    /** Fracción eliminada del tamaño del modelo (entradas no nulas de órdenes + pasillos). */
+    double reduction() {
+        return 1.0 - nnz(reduced) / (double) Math.max(1, nnz(original));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Presolve: órdenes %d→%d (%d vacías, %d > UB, %d sin suministro, %d > 20 pasillos), "
+                             + "pasillos %d→%d (%d vacíos, %d dominados), ítems %d→%d, "
+                             + "reducción %.1f %%, %d ms",
+                             original.nOrders, reduced.nOrders, emptyOrders, oversized, unservable, tooManyAisles,
+                             original.nAisles, reduced.nAisles, emptyAisles, dominatedAisles,
+                             original.nItems, reduced.nItems, 100 * reduction(), elapsedMs);
+    }
+}
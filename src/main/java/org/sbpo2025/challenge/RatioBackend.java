@@ -0,0 +1,78 @@
+package org.sbpo2025.challenge;
+
+/**
+ * Resolutor de los submodelos de la búsqueda exacta del ratio: «¿existe una
+ * ola con ratio ≥ r?» para {@link RatioBisection} y el problema paramétrico
+ * de {@link RatioDinkelbach}. Las implementaciones mantienen el modelo vivo
+ * entre llamadas: cada solve sólo cambia r o λ.
+ *
+ * La implementación con CPLEX ({@code CplexRatioBackend}) se carga por
+ * reflexión, de modo que el resto del solver compila y funciona sin el jar de
+ * CPLEX (perfil {@code -DnoCplex}); en los tests, {@code FakeRatioBackend}
+ * ejercita la bisección y Dinkelbach sin licencia.
+ */
+interface RatioBackend extends AutoCloseable {
+
+    enum Status {
+        /** Se encontró una ola con ratio ≥ r. */
+        FEASIBLE,
+        /** Demostrado que no existe. */
+        INFEASIBLE,
+        /** Sin respuesta (límite de tiempo o cancelación). */
+        UNKNOWN
+    }
+
+    /** Resultado del submodelo; {@code solution} sólo con {@link Status#FEASIBLE}. */
+    record Result(Status status, ChallengeSolution solution) {
+        static final Result INFEASIBLE = new Result(Status.INFEASIBLE, null);
+        static final Result UNKNOWN    = new Result(Status.UNKNOWN, null);
+
+        static Result feasible(ChallengeSolution solution) {
+            return new Result(Status.FEASIBLE, solution);
+        }
+    }
+
+    /** Error del resolutor externo. */
+    final class BackendException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        BackendException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Busca una ola factible con ratio ≥ {@code ratio}. {@code warmStart} (o
+     * null) es una ola conocida para arrancar; el límite de tiempo es lo que le
+     * queda a {@code token} y su cancelación aborta el solve.
+     */
+    Result solve(double ratio, ChallengeSolution warmStart, CancelToken token);
+
+    /**
+     * Paso de Dinkelbach: maximiza Σ u_o x_o − λ Σ y_a sobre las olas
+     * factibles. {@link Status#FEASIBLE} con una ola de valor &gt; 0 (ratio &gt; λ);
+     * {@link Status#INFEASIBLE} si se demuestra que el máximo es ≤ 0, es decir,
+     * que λ es el ratio óptimo; {@link Status#UNKNOWN} si no se llega a ninguna
+     * de las dos cosas dentro del plazo de {@code token}.
+     */
+    Result maximizeParametric(double lambda, ChallengeSolution warmStart, CancelToken token);
+
+    /** Libera el modelo. */
+    @Override
+    default void close() {
+    }
+
+    /** Implementación con CPLEX con {@code threads} hilos, o null si no está en el classpath. */
+    static RatioBackend load(Instance inst, int threads) {
+        try {
+            return Class.forName("org.sbpo2025.challenge.CplexRatioBackend")
+                    .asSubclass(RatioBackend.class)
+                    .getDeclaredConstructor(Instance.class, int.class)
+                    .newInstance(inst, threads);
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return null;
+        } catch (ReflectiveOperationException ex) {
+            throw new BackendException("cannot load CPLEX backend", ex);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.sbpo2025.challenge;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Bisección sobre el ratio con un {@link RatioBackend}.
+ *
+ * {@code lower} es el ratio de la mejor ola conocida. {@code proven} sólo baja
+ * cuando el resolutor demuestra infactibilidad, así que es una cota superior
+ * válida; {@code hi} también baja cuando un solve agota su tiempo sin respuesta
+ * (criterio heurístico original), y se reabre hasta {@code proven} si el
+ * incumbente lo alcanza. Un solve cancelado desde fuera no mueve nada.
+ */
+final class RatioBisection implements RatioSearch {
+
+    private final RatioBackend                        backend;
+    private final ToDoubleFunction<ChallengeSolution> objective;
+    private final double                              tolerance;
+
+    private double lower;
+    private double hi;
+    private double proven;
+    private int    solves;
+
+    RatioBisection(RatioBackend backend, double upper, double tolerance,
+                   ToDoubleFunction<ChallengeSolution> objective) {
+        this.backend   = backend;
+        this.objective = objective;
+        this.tolerance = tolerance;
+        this.hi        = upper;
+        this.proven    = upper;
+    }
+
+    @Override public double lower()  { return lower; }
+    @Override public double upper()  { return proven; }
+    @Override public int    solves() { return solves; }
+
+    @Override
+    public void raiseLower(double ratio) {
+        if (ratio > lower) lower = ratio;
+        if (lower >= hi) hi = proven;
+    }
+
+    /** Intervalo de búsqueda cerrado (relativo a {@code hi}). */
+    @Override
+    public boolean converged() {
+        return hi - lower <= Math.max(1e-6, tolerance * hi);
+    }
+
+    /** Resuelve el punto medio y actualiza el intervalo. */
+    @Override
+    public Step step(ChallengeSolution warmStart, CancelToken token) {
+        double mid = (lower + hi) / 2.0;
+        RatioBackend.Result res = backend.solve(mid, warmStart, token);
+        solves++;
+        switch (res.status()) {
+            case FEASIBLE -> {                          // factible ⇒ subir la exigencia
+                lower = Math.max(lower, Math.max(mid, objective.applyAsDouble(res.solution())));
+                if (lower >= hi) hi = proven;
+            }
+            case INFEASIBLE -> hi = proven = mid;       // infactible ⇒ bajar la exigencia
+            case UNKNOWN -> {
+                if (token.isCancelled()) return new Step(mid, res, true);   // se reintenta
+                hi = mid;                               // límite sin respuesta
+            }
+        }
+        return new Step(mid, res, false);
+    }
+}
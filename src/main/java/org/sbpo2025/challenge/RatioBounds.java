@@ -0,0 +1,168 @@
+package org.sbpo2025.challenge;
+
+import java.util.Arrays;
+
+/**
+ * Cotas superiores del ratio sin CPLEX.
+ *
+ * Para cada número de pasillos k = 1..20 se acota el máximo de unidades que
+ * puede servir una ola con k pasillos. Cada ítem aporta a lo sumo
+ * min(D_i, suministro de los k pasillos), con D_i la demanda total del ítem:
+ * <ul>
+ *   <li><b>ítems</b>: Σ_i min(D_i, suma de los k mayores suministros de i);</li>
+ *   <li><b>pasillos</b>: suma de las k mayores capacidades útiles
+ *       c_a = Σ_i min(D_i, s_ai);</li>
+ *   <li><b>LP</b>: relajación lineal de la elección de pasillos, a través de su
+ *       dual lagrangiano: para cualquier π ∈ [0,1]^ítems,
+ *       Σ_i (1−π_i)·D_i + (k mayores Σ_i π_i·min(D_i, s_ai)) es cota válida;
+ *       π se ajusta por subgradiente partiendo de π = 1 (la cota de pasillos).
+ *       Sólo se calcula para los k cuya cota barata aún puede dar el máximo.</li>
+ * </ul>
+ * La cota de k es el mínimo de las tres y de {@code waveSizeUB}; si no alcanza
+ * {@code waveSizeLB}, ninguna ola con k pasillos es factible. El ratio queda
+ * acotado por max_k cota(k)/k.
+ */
+final class RatioBounds {
+    private static final int SUBGRADIENT_ITERS = 60;
+
+    /** Cota de unidades con exactamente k pasillos (índice k; 0 si infactible). */
+    private final double[] units;
+    /** max_{k' ≥ k} units[k'] / k'. */
+    private final double[] ratioFrom;
+    /** k de la cota; 0 sin pasillos. */
+    private final int      bestK;
+    final long             elapsedMs;
+
+    private RatioBounds(double[] units, long elapsedMs) {
+        this.units     = units;
+        this.elapsedMs = elapsedMs;
+        int kMax = units.length - 1;
+        ratioFrom = new double[kMax + 2];
+        int best = kMax == 0 ? 0 : 1;
+        for (int k = kMax; k >= 1; k--) {
+            ratioFrom[k] = Math.max(ratioFrom[k + 1], units[k] / k);
+            if (units[k] / k >= units[best] / best) best = k;
+        }
+        bestK = best;
+    }
+
+    /** Cota superior del ratio óptimo. */
+    double upper() {
+        return ratioFrom[1];
+    }
+
+    /** Cota del ratio de cualquier ola con al menos {@code k} pasillos. */
+    double ratioWithAtLeast(int k) {
+        if (k < 1) return ratioFrom[1];
+        return k < ratioFrom.length ? ratioFrom[k] : 0.0;
+    }
+
+    static RatioBounds compute(Instance inst) {
+        long t0 = System.currentTimeMillis();
+        int kMax = Math.min(WaveState.MAX_AISLES, inst.nAisles);
+
+        /* demanda total por ítem */
+        long[] demand = new long[inst.nItems];
+        for (int i = 0; i < inst.nItems; i++)
+            for (int k = inst.itemOrderStart[i]; k < inst.itemOrderStart[i + 1]; k++)
+                demand[i] += inst.itemOrderQty[k];
+
+        /* ítems: filas ítem → pasillos ya vienen por suministro descendente */
+        double[] itemBound = new double[kMax + 1];
+        for (int i = 0; i < inst.nItems; i++) {
+            long supply = 0;
+            int  from   = inst.itemAisleStart[i], to = inst.itemAisleStart[i + 1];
+            for (int k = 1; k <= kMax; k++) {
+                if (from + k - 1 < to) supply += inst.itemAisleQty[from + k - 1];
+                itemBound[k] += Math.min(demand[i], supply);
+            }
+        }
+
+        /* pasillos: k mayores capacidades útiles */
+        double[] cap = new double[inst.nAisles];
+        for (int a = 0; a < inst.nAisles; a++)
+            for (int q = inst.aisleStart[a]; q < inst.aisleStart[a + 1]; q++)
+                cap[a] += Math.min(demand[inst.aisleItem[q]], inst.aisleQty[q]);
+        Arrays.sort(cap);
+        double[] units = new double[kMax + 1];
+        double   acc   = 0;
+        for (int k = 1; k <= kMax; k++) {
+            acc += cap[inst.nAisles - k];
+            units[k] = Math.min(Math.min(itemBound[k], acc), inst.waveSizeUB);
+        }
+
+        /* LP sólo donde la cota barata aún puede ser la máxima, de mayor a menor */
+        Integer[] order = new Integer[kMax];
+        for (int k = 1; k <= kMax; k++) order[k - 1] = k;
+        Arrays.sort(order, (k1, k2) -> Double.compare(units[k2] / k2, units[k1] / k1));
+        double[] pi = new double[inst.nItems];
+        double[] w  = new double[inst.nAisles];
+        double[] g  = new double[inst.nItems];
+        double best = 0;
+        for (int k : order) {
+            if (units[k] / k <= best) break;
+            units[k] = Math.min(units[k], lagrangian(inst, demand, k, pi, w, g));
+            if (units[k] >= inst.waveSizeLB) best = Math.max(best, units[k] / k);
+        }
+        for (int k = 1; k <= kMax; k++)
+            if (units[k] < inst.waveSizeLB) units[k] = 0.0;
+        return new RatioBounds(units, System.currentTimeMillis() - t0);
+    }
+
+    /** Mejor valor del dual lagrangiano para k pasillos (subgradiente proyectado). */
+    private static double lagrangian(Instance inst, long[] demand, int k,
+                                     double[] pi, double[] w, double[] g) {
+        Arrays.fill(pi, 1.0);
+        double best = Double.POSITIVE_INFINITY;
+        int[] top = new int[k];
+        for (int it = 0; it < SUBGRADIENT_ITERS; it++) {
+            /* f(π) = Σ (1−π_i) D_i + k mayores w_a */
+            double f = 0;
+            for (int i = 0; i < inst.nItems; i++) f += (1 - pi[i]) * demand[i];
+            for (int a = 0; a < inst.nAisles; a++) {
+                double s = 0;
+                for (int q = inst.aisleStart[a]; q < inst.aisleStart[a + 1]; q++)
+                    s += pi[inst.aisleItem[q]] * Math.min(demand[inst.aisleItem[q]], inst.aisleQty[q]);
+                w[a] = s;
+            }
+            topK(w, top);
+            for (int a : top) f += w[a];
+            best = Math.min(best, f);
+
+            /* ∂f/∂π_i = −D_i + Σ_{a ∈ top} min(D_i, s_ai) */
+            for (int i = 0; i < inst.nItems; i++) g[i] = -demand[i];
+            for (int a : top)
+                for (int q = inst.aisleStart[a]; q < inst.aisleStart[a + 1]; q++)
+                    g[inst.aisleItem[q]] += Math.min(demand[inst.aisleItem[q]], inst.aisleQty[q]);
+            double norm = 0;
+            for (double v : g) norm = Math.max(norm, Math.abs(v));
+            if (norm == 0) break;
+            double step = 0.5 / Math.sqrt(it + 1) / norm;
+            for (int i = 0; i < inst.nItems; i++)
+                pi[i] = Math.min(1.0, Math.max(0.0, pi[i] - step * g[i]));
+        }
+        return best;
+    }
+
+    /** Índices de los {@code top.length} mayores valores de {@code w} (selección parcial). */
+    private static void topK(double[] w, int[] top) {
+        int n = 0;
+        for (int a = 0; a < w.length; a++) {
+            if (n < top.length) {
+                int j = n++;
+                while (j > 0 && w[top[j - 1]] < w[a]) { top[j] = top[j - 1]; j--; }
+                top[j] = a;
+            } else if (w[a] > w[top[n - 1]]) {
+                int j = n - 1;
+                while (j > 0 && w[top[j - 1]] < w[a]) { top[j] = top[j - 1]; j--; }
+                top[j] = a;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (bestK == 0) return String.format("cota %.4f (sin pasillos), %d ms", upper(), elapsedMs);
+        return String.format("cota %.4f (k=%d, %.0f uds), %d ms", upper(), bestK, units[bestK], elapsedMs);
+    }
+}
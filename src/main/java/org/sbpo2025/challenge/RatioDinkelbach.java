@@ -0,0 +1,61 @@
+package org.sbpo2025.challenge;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Método de Dinkelbach para el objetivo fraccional: con λ el ratio de la
+ * mejor ola conocida, maximiza Σ unidades − λ·|pasillos|. Una ola de valor
+ * positivo tiene ratio > λ y pasa a ser el nuevo λ; valor óptimo ≤ 0 demuestra
+ * que λ es el ratio óptimo. Cada paso completado entrega una ola factible que
+ * mejora, y con solves exactos converge superlinealmente.
+ *
+ * {@code upper} queda en la cota trivial hasta la demostración final. Un solve
+ * que agota su tiempo o se cancela no mueve nada: el siguiente arranca de la
+ * misma λ con la mejor ola como MIP start.
+ */
+final class RatioDinkelbach implements RatioSearch {
+    private final RatioBackend                        backend;
+    private final ToDoubleFunction<ChallengeSolution> objective;
+    private final double                              tolerance;
+
+    private double lower;
+    private double upper;
+    private int    solves;
+
+    RatioDinkelbach(RatioBackend backend, double upper, double tolerance,
+                    ToDoubleFunction<ChallengeSolution> objective) {
+        this.backend   = backend;
+        this.objective = objective;
+        this.tolerance = tolerance;
+        this.upper     = upper;
+    }
+
+    @Override public double lower()  { return lower; }
+    @Override public double upper()  { return upper; }
+    @Override public int    solves() { return solves; }
+
+    @Override
+    public void raiseLower(double ratio) {
+        if (ratio > lower) lower = Math.min(ratio, upper);
+    }
+
+    @Override
+    public boolean converged() {
+        return upper - lower <= Math.max(1e-6, tolerance * upper);
+    }
+
+    @Override
+    public Step step(ChallengeSolution warmStart, CancelToken token) {
+        double lambda = lower;
+        RatioBackend.Result res = backend.maximizeParametric(lambda, warmStart, token);
+        solves++;
+        switch (res.status()) {
+            case FEASIBLE   -> lower = Math.max(lower, objective.applyAsDouble(res.solution()));
+            case INFEASIBLE -> upper = lower = lambda;   // max ≤ 0 ⇒ λ óptimo
+            case UNKNOWN    -> {
+                if (token.isCancelled()) return new Step(lambda, res, true);
+            }
+        }
+        return new Step(lambda, res, false);
+    }
+}
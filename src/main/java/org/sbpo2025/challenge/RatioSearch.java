@@ -0,0 +1,29 @@
+package org.sbpo2025.challenge;
+
+/**
+ * Búsqueda exacta del ratio óptimo con un {@link RatioBackend}, paso a paso
+ * para que la fase la pueda repartir en rebanadas. {@code lower()} es el
+ * ratio de la mejor ola conocida y {@code upper()} una cota superior
+ * demostrada.
+ */
+interface RatioSearch {
+
+    /** Un paso: parámetro resuelto, respuesta del resolutor y si lo cortó una cancelación. */
+    record Step(double ratio, RatioBackend.Result result, boolean cancelled) {}
+
+    double lower();
+
+    double upper();
+
+    /** Solves lanzados hasta ahora. */
+    int solves();
+
+    /** Sube la cota inferior con una ola encontrada por otra vía. */
+    void raiseLower(double ratio);
+
+    /** Sin más trabajo útil: óptimo demostrado o intervalo cerrado. */
+    boolean converged();
+
+    /** Un solve del resolutor; {@code warmStart} (o null) es la mejor ola conocida. */
+    Step step(ChallengeSolution warmStart, CancelToken token);
+}
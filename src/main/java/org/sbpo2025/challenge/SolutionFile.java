@@ -0,0 +1,77 @@
+package org.sbpo2025.challenge;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Fichero de salida del reto: número de órdenes, una orden por línea, número
+ * de pasillos y un pasillo por línea. Se escribe en un temporal del mismo
+ * directorio (uno por proceso e hilo) y se renombra con {@code ATOMIC_MOVE},
+ * de modo que quien lo lea (o un corte del proceso) nunca ve un fichero a
+ * medias.
+ *
+ * El fichero multiola ({@link #writeWaves}) empieza con el número de olas y
+ * sigue con un bloque como el anterior por ola, en orden de extracción.
+ */
+final class SolutionFile {
+    private SolutionFile() {
+    }
+
+    static void write(Path output, ChallengeSolution solution) throws IOException {
+        atomically(output, writer -> writeWave(writer, solution));
+    }
+
+    static void writeWaves(Path output, List<ChallengeSolution> waves) throws IOException {
+        atomically(output, writer -> {
+            writer.write(String.valueOf(waves.size()));
+            writer.newLine();
+            for (ChallengeSolution wave : waves) writeWave(writer, wave);
+        });
+    }
+
+    private interface Body {
+        void write(BufferedWriter writer) throws IOException;
+    }
+
+    private static void atomically(Path output, Body body) throws IOException {
+        Path tmp = output.resolveSibling(output.getFileName() + "." + ProcessHandle.current().pid()
+                                         + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                body.write(writer);
+            }
+            try {
+                Files.move(tmp, output, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tmp, output, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static void writeWave(BufferedWriter writer, ChallengeSolution solution) throws IOException {
+        var orders = solution.orders();
+        var aisles = solution.aisles();
+
+        writer.write(String.valueOf(orders.size()));
+        writer.newLine();
+        for (int order : orders) {
+            writer.write(String.valueOf(order));
+            writer.newLine();
+        }
+
+        writer.write(String.valueOf(aisles.size()));
+        writer.newLine();
+        for (int aisle : aisles) {
+            writer.write(String.valueOf(aisle));
+            writer.newLine();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package org.sbpo2025.challenge;
+
+import java.util.Locale;
+
+/**
+ * Parámetros de ejecución del solver. Se leen de propiedades del sistema
+ * ({@code -Dchallenge.workers=8}) y, opcionalmente, de opciones tras los dos
+ * argumentos posicionales del reto ({@code --time-limit 120}); la línea de
+ * comandos tiene prioridad.
+ *
+ * <pre>
+ *   propiedad              opción          por defecto
+ *   challenge.workers      --workers       núcleos disponibles
+ *   challenge.timeLimit    --time-limit    585 s (tiempo total desde el arranque)
+ *   challenge.stall        --stall         60 s sin mejoras ⇒ parar
+ *   challenge.gap          --gap           1e-4 (brecha relativa con la cota)
+ *   challenge.checkpoint   --checkpoint    1 s entre escrituras del incumbente (0 = no)
+ *   challenge.ratioMode    --ratio-mode    bisection | dinkelbach (búsqueda exacta del ratio)
+ *   challenge.presolve     --presolve      true (reducción exacta de la instancia, ver {@link Presolve})
+ *   challenge.decompose    --decompose     false (arranque por grupos de órdenes, ver {@link Decomposition})
+ *   challenge.waves        --waves         1 (olas disjuntas por ejecución; all = hasta agotar, ver {@link MultiWave})
+ * </pre>
+ */
+public final class SolverConfig {
+    static final long   DEFAULT_TIME_LIMIT_MS = 585_000;     // 585 s  (~9:45 min)
+    static final long   DEFAULT_STALL_MS      = 60_000;
+    static final double DEFAULT_GAP           = 1e-4;
+    static final long   DEFAULT_CHECKPOINT_MS = 1_000;
+
+    /** Búsqueda exacta del ratio: bisección o Dinkelbach. */
+    public enum RatioMode { BISECTION, DINKELBACH }
+
+    /** {opción, propiedad del sistema} */
+    private static final String[][] OPTIONS = {
+            {"workers",    "challenge.workers"},
+            {"time-limit", "challenge.timeLimit"},
+            {"stall",      "challenge.stall"},
+            {"gap",        "challenge.gap"},
+            {"checkpoint", "challenge.checkpoint"},
+            {"ratio-mode", "challenge.ratioMode"},
+            {"presolve",   "challenge.presolve"},
+            {"decompose",  "challenge.decompose"},
+            {"waves",      "challenge.waves"},
+    };
+
+    /** Hilos de las fases paralelas (por defecto, todos los núcleos). */
+    final int    workers;
+    /** Tiempo total de la ejecución, medido desde el arranque del programa. */
+    final long   timeLimitMs;
+    /** Ventana sin mejoras en ninguna fase tras la cual se para. */
+    final long   stallMs;
+    /** Brecha relativa incumbente / cota superior que se considera cerrada. */
+    final double gap;
+    /** Intervalo mínimo entre escrituras anticipadas del incumbente; 0 las desactiva. */
+    final long   checkpointMs;
+    /** Método de la fase exacta sobre el ratio. */
+    final RatioMode ratioMode;
+    /** Reducir la instancia antes de resolver. */
+    final boolean   presolve;
+    /** Resolver primero subproblemas por grupos de órdenes similares. */
+    final boolean   decompose;
+    /** Olas sucesivas a extraer; 0 = hasta que no quede ninguna factible. */
+    final int       waves;
+
+    private SolverConfig(Builder b) {
+        if (b.workers < 1) throw new IllegalArgumentException("workers must be >= 1: " + b.workers);
+        if (b.timeLimitMs < 1) throw new IllegalArgumentException("time limit must be positive: " + b.timeLimitMs + " ms");
+        if (b.stallMs < 1) throw new IllegalArgumentException("stall window must be positive: " + b.stallMs + " ms");
+        if (!(b.gap >= 0)) throw new IllegalArgumentException("gap must be >= 0: " + b.gap);
+        if (b.ratioMode == null) throw new IllegalArgumentException("ratio mode must not be null");
+        if (b.waves < 0) throw new IllegalArgumentException("waves must be >= 0: " + b.waves);
+        if (b.checkpointMs < 0) throw new IllegalArgumentException("checkpoint interval must be >= 0: " + b.checkpointMs + " ms");
+        this.workers      = b.workers;
+        this.timeLimitMs  = b.timeLimitMs;
+        this.stallMs      = b.stallMs;
+        this.gap          = b.gap;
+        this.checkpointMs = b.checkpointMs;
+        this.ratioMode    = b.ratioMode;
+        this.presolve     = b.presolve;
+        this.decompose    = b.decompose;
+        this.waves        = b.waves;
+    }
+
+    public SolverConfig(int workers) {
+        this(builder().workers(workers));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static SolverConfig fromSystemProperties() {
+        return systemProperties().build();
+    }
+
+    /**
+     * Propiedades del sistema sobrescritas por las opciones {@code --clave valor}
+     * (o {@code --clave=valor}) de {@code options}.
+     */
+    public static SolverConfig fromArgs(String... options) {
+        Builder b = systemProperties();
+        for (int i = 0; i < options.length; i++) {
+            String key = options[i], value;
+            int eq = key.indexOf('=');
+            if (eq >= 0) {
+                value = key.substring(eq + 1);
+                key   = key.substring(0, eq);
+            } else if (i + 1 < options.length) {
+                value = options[++i];
+            } else {
+                throw new IllegalArgumentException("missing value for option " + key);
+            }
+            if (!key.startsWith("--")) throw new IllegalArgumentException("unknown option " + key);
+            b.set(key.substring(2), value);
+        }
+        return b.build();
+    }
+
+    private static Builder systemProperties() {
+        Builder b = builder();
+        for (String[] opt : OPTIONS) {
+            String value = System.getProperty(opt[1]);
+            if (value != null) b.set(opt[0], value);
+        }
+        return b;
+    }
+
+    public int workers() {
+        return workers;
+    }
+
+    public long timeLimitMs() {
+        return timeLimitMs;
+    }
+
+    public long stallMs() {
+        return stallMs;
+    }
+
+    public double gap() {
+        return gap;
+    }
+
+    public long checkpointMs() {
+        return checkpointMs;
+    }
+
+    public RatioMode ratioMode() {
+        return ratioMode;
+    }
+
+    public boolean presolve() {
+        return presolve;
+    }
+
+    public boolean decompose() {
+        return decompose;
+    }
+
+    public int waves() {
+        return waves;
+    }
+
+    /** Constructor incremental; los valores no fijados toman el valor por defecto. */
+    public static final class Builder {
+        private int    workers      = Runtime.getRuntime().availableProcessors();
+        private long   timeLimitMs  = DEFAULT_TIME_LIMIT_MS;
+        private long   stallMs      = DEFAULT_STALL_MS;
+        private double gap          = DEFAULT_GAP;
+        private long   checkpointMs = DEFAULT_CHECKPOINT_MS;
+        private RatioMode ratioMode = RatioMode.BISECTION;
+        private boolean   presolve  = true;
+        private boolean   decompose = false;
+        private int       waves     = 1;
+
+        private Builder() {
+        }
+
+        public Builder workers(int workers)           { this.workers = workers; return this; }
+        public Builder timeLimitMs(long timeLimitMs)  { this.timeLimitMs = timeLimitMs; return this; }
+        public Builder stallMs(long stallMs)          { this.stallMs = stallMs; return this; }
+        public Builder gap(double gap)                { this.gap = gap; return this; }
+        public Builder checkpointMs(long checkpointMs) { this.checkpointMs = checkpointMs; return this; }
+        public Builder ratioMode(RatioMode ratioMode) { this.ratioMode = ratioMode; return this; }
+        public Builder presolve(boolean presolve)     { this.presolve = presolve; return this; }
+        public Builder decompose(boolean decompose)   { this.decompose = decompose; return this; }
+        public Builder waves(int waves)               { this.waves = waves; return this; }
+
+        /** Fija una opción por nombre (sin {@code --}); los tiempos van en segundos. */
+        Builder set(String option, String value) {
+            try {
+                return switch (option) {
+                    case "workers"    -> workers(Integer.parseInt(value));
+                    case "time-limit" -> timeLimitMs(seconds(value));
+                    case "stall"      -> stallMs(seconds(value));
+                    case "gap"        -> gap(Double.parseDouble(value));
+                    case "checkpoint" -> checkpointMs(seconds(value));
+                    case "ratio-mode" -> ratioMode(mode(value));
+                    case "presolve"   -> presolve(bool(option, value));
+                    case "decompose"  -> decompose(bool(option, value));
+                    case "waves"      -> waves(value.equalsIgnoreCase("all") ? 0 : Integer.parseInt(value));
+                    default -> throw new IllegalArgumentException("unknown option --" + option);
+                };
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("invalid value for --" + option + ": " + value);
+            }
+        }
+
+        public SolverConfig build() {
+            return new SolverConfig(this);
+        }
+
+        private static boolean bool(String option, String value) {
+            return switch (value.toLowerCase(Locale.ROOT)) {
+                case "true", "on", "1"   -> true;
+                case "false", "off", "0" -> false;
+                default -> throw new IllegalArgumentException("invalid value for --" + option + ": " + value);
+            };
+        }
+
+        private static RatioMode mode(String value) {
+            try {
+                return RatioMode.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("invalid value for --ratio-mode: " + value
+                                                   + " (expected bisection or dinkelbach)");
+            }
+        }
+
+        /** Segundos (admite decimales) a milisegundos. */
+        private static long seconds(String value) {
+            return Math.round(Double.parseDouble(value) * 1000);
+        }
+    }
+}
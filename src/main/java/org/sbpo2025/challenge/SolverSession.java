@@ -0,0 +1,189 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Sesión de larga duración para reoptimizar mientras el backlog cambia: altas
+ * ({@link #addOrder}), cancelaciones ({@link #cancelOrder}) y cambios de stock
+ * ({@link #updateAisleStock}) parten de la instancia primitiva ya cargada, sin
+ * volver a leer el fichero.
+ *
+ * <ul>
+ *   <li>Los ids son estables: una orden cancelada conserva su id (queda
+ *       vacía) y las nuevas se numeran a continuación.</li>
+ *   <li>Cada cambio produce una instancia nueva que comparte con la anterior
+ *       el lado que no cambia: altas y cancelaciones rehacen el de las
+ *       órdenes y los cambios de stock el de los pasillos
+ *       ({@link Instance#withOrder}, {@link Instance#withoutOrder},
+ *       {@link Instance#withAisleStock}). Las instancias son inmutables: quien
+ *       conserve una anterior (o un solver construido sobre ella) no ve el
+ *       cambio.</li>
+ *   <li>Tras cada cambio la ola vigente se repara en local: se conserva si
+ *       sigue siendo factible y se reempaquetan órdenes en sus pasillos
+ *       ({@link AisleSetSearch}); si ninguna de las dos alcanza la LB, una
+ *       búsqueda en pasillos de {@link #REPAIR_MS} ms parte de ellos.</li>
+ *   <li>{@link #reoptimize} lanza el resolutor completo hasta el plazo,
+ *       sembrado con la ola vigente y las olas de élite de la llamada
+ *       anterior.</li>
+ * </ul>
+ *
+ * No es thread-safe: los cambios y las reoptimizaciones se llaman desde un
+ * solo hilo.
+ */
+public final class SolverSession {
+    /** Plazo de la búsqueda de reparación cuando reempaquetar no basta. */
+    static final long REPAIR_MS = 50;
+
+    private final SolverConfig config;
+    private final Random       rand;
+    private Instance           inst;
+    private ChallengeSolver    check;          // factibilidad sobre la instancia viva
+    private AisleSetSearch     search;         // reparación local, una por instancia
+    private ChallengeSolution  wave;
+    private double             ratio;
+    private List<ChallengeSolution> elites = List.of();
+
+    private long deltas, repairs, lostWaves;
+
+    public SolverSession(Instance instance, SolverConfig config) {
+        this.config = config;
+        this.rand   = new Random(instance.nOrders * 31L + instance.nAisles);
+        attach(instance);
+    }
+
+    /** Ola vigente (ids de la sesión) o null si no hay ninguna factible. */
+    public ChallengeSolution wave() {
+        return wave;
+    }
+
+    public double ratio() {
+        return wave != null ? ratio : 0.0;
+    }
+
+    /** Instancia vigente (inmutable); cambia de objeto con cada cambio. */
+    public Instance instance() {
+        return inst;
+    }
+
+    /* ───────────────────────────── Cambios ───────────────────────────── */
+    /** Añade una orden (ítems distintos, cantidades > 0) y devuelve su id. */
+    public int addOrder(int[] items, int[] quantities) {
+        if (items.length == 0 || items.length != quantities.length)
+            throw new IllegalArgumentException("items and quantities must be non-empty and of equal length");
+        Set<Integer> seen = new HashSet<>();
+        for (int k = 0; k < items.length; k++) {
+            if (items[k] < 0 || items[k] >= inst.nItems)
+                throw new IllegalArgumentException("unknown item: " + items[k]);
+            if (quantities[k] <= 0)
+                throw new IllegalArgumentException("quantity must be > 0: " + quantities[k]);
+            if (!seen.add(items[k]))
+                throw new IllegalArgumentException("repeated item: " + items[k]);
+        }
+        int id = inst.nOrders;
+        attach(inst.withOrder(items.clone(), quantities.clone()));
+        repair();
+        return id;
+    }
+
+    /** Cancela una orden: queda vacía y sale de la ola vigente. */
+    public void cancelOrder(int order) {
+        checkIndex(order, inst.nOrders, "order");
+        attach(inst.withoutOrder(order));
+        repair();
+    }
+
+    /** Fija el stock de {@code item} en {@code aisle} (0 lo agota). */
+    public void updateAisleStock(int aisle, int item, int quantity) {
+        checkIndex(aisle, inst.nAisles, "aisle");
+        checkIndex(item, inst.nItems, "item");
+        if (quantity < 0) throw new IllegalArgumentException("quantity must be >= 0: " + quantity);
+        attach(inst.withAisleStock(aisle, item, quantity));
+        repair();
+    }
+
+    /* ─────────────────────────── Reoptimización ─────────────────────────── */
+    /**
+     * Resuelve hasta {@code deadlineMillis} (reloj de pared) sembrando con la
+     * ola vigente y las de élite; se queda con la mejor entre la vigente y la
+     * nueva y devuelve la vigente.
+     */
+    public ChallengeSolution reoptimize(long deadlineMillis) {
+        Presolve presolve = config.presolve ? Presolve.run(inst) : Presolve.identity(inst);
+        ChallengeSolver solver = new ChallengeSolver(presolve.reduced, config);
+        solver.verbose(false);
+        List<ChallengeSolution> seeds = new ArrayList<>(elites.size() + 1);
+        if (wave != null) seeds.add(wave);
+        seeds.addAll(elites);
+        List<ChallengeSolution> reduced = new ArrayList<>(seeds.size());
+        for (ChallengeSolution s : seeds) {
+            ChallengeSolution p = inst.pending(s);
+            ChallengeSolution r = p != null ? presolve.reduce(p) : null;
+            if (r != null) reduced.add(r);
+        }
+        solver.seed(reduced);
+
+        accept(inst.pending(presolve.restore(solver.solve(CancelToken.until(deadlineMillis)))));
+        List<ChallengeSolution> next = new ArrayList<>();
+        for (ChallengeSolution e : solver.eliteSolutions()) {
+            ChallengeSolution s = inst.pending(presolve.restore(e));
+            if (s != null) next.add(s);
+        }
+        elites = next;
+        return wave;
+    }
+
+    /* ─────────────────────────── Reparación ─────────────────────────── */
+    private void attach(Instance instance) {
+        inst   = instance;
+        check  = new ChallengeSolver(instance, config);
+        search = new AisleSetSearch(instance, rand);
+    }
+
+    /**
+     * Repara la ola vigente tras un cambio: la mejor entre ella misma (sin
+     * órdenes vacías) y el reempaquetado de sus pasillos; si ninguna es
+     * factible, búsqueda en pasillos acotada a {@link #REPAIR_MS} ms desde
+     * ellos. Sin ola vigente no hay nada que reparar.
+     */
+    private void repair() {
+        deltas++;
+        if (wave == null) return;
+        repairs++;
+        ChallengeSolution old = wave;
+        wave = null;
+        accept(inst.pending(old));
+        for (int a : old.aisles()) search.add(a);
+        accept(inst.pending(search.solution()));
+        if (wave != null) return;
+
+        Incumbent found = new Incumbent();
+        search.run(old.aisles(), CancelToken.until(System.currentTimeMillis() + REPAIR_MS), found);
+        accept(inst.pending(found.solution()));
+        if (wave == null) lostWaves++;
+    }
+
+    /** Se queda con {@code sol} si es factible y mejora la ola vigente. */
+    private void accept(ChallengeSolution sol) {
+        if (sol == null || !check.isSolutionFeasible(sol)) return;
+        double r = check.computeObjectiveFunction(sol);
+        if (wave == null || r > ratio) {
+            wave  = sol;
+            ratio = r;
+        }
+    }
+
+    private static void checkIndex(int idx, int size, String what) {
+        if (idx < 0 || idx >= size)
+            throw new IllegalArgumentException(what + " out of range: " + idx);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Sesión: %d órdenes, %d cambios, %d reparaciones (%d sin ola), ratio %.4f, %d olas de élite",
+                             inst.nOrders, deltas, repairs, lostWaves, ratio(), elites.size());
+    }
+}
@@ -0,0 +1,211 @@
+package org.sbpo2025.challenge;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Telemetría de una ejecución del solver.
+ *
+ * Siempre activos (coste despreciable): los eventos JFR (sólo se materializan
+ * si hay una grabación, p. ej. {@code -XX:StartFlightRecording}) y los
+ * contadores por fase, que se suman una vez por rebanada.
+ *
+ * Con {@code -Dchallenge.telemetry=true} ({@link #ENABLED}, constante para el
+ * JIT) se cuentan además las llamadas al greedy de cobertura, se guarda la
+ * trayectoria del incumbente y cada solve de la bisección, y
+ * {@link #writeReport} deja junto a la salida un {@code .telemetry.json} y un
+ * {@code .trajectory.csv}.
+ */
+final class Telemetry {
+    static final boolean ENABLED = Boolean.getBoolean("challenge.telemetry");
+
+    /* ───────────────────────────── Eventos JFR ───────────────────────────── */
+    @Name("org.sbpo2025.IncumbentImproved")
+    @Label("Incumbent improved")
+    @Category({"SBPO 2025", "Solver"})
+    static final class ImprovementEvent extends Event {
+        @Label("Ratio")  double ratio;
+        @Label("Phase")  String phase;
+    }
+
+    @Name("org.sbpo2025.PhaseSlice")
+    @Label("Phase slice")
+    @Category({"SBPO 2025", "Solver"})
+    static final class SliceEvent extends Event {
+        @Label("Phase")          String phase;
+        @Label("Ratio before")   double ratioBefore;
+        @Label("Ratio after")    double ratioAfter;
+    }
+
+    @Name("org.sbpo2025.RatioSolve")
+    @Label("Ratio subproblem solve")
+    @Category({"SBPO 2025", "Solver"})
+    static final class RatioSolveEvent extends Event {
+        @Label("Ratio")    double ratio;
+        @Label("Outcome")  String outcome;
+    }
+
+    /** Punto de la trayectoria del incumbente. */
+    record Point(long ms, double ratio, String phase) {}
+
+    /** Un solve de la bisección: ratio exigido, resultado y duración. */
+    record RatioSolve(long ms, double ratio, String outcome, long durationMs) {}
+
+    /** Llamadas a {@link ChallengeSolver#greedyAddAislesForOrder} (sólo con {@link #ENABLED}). */
+    final LongAdder coverCalls = new LongAdder();
+
+    private final long start = System.currentTimeMillis();
+    private volatile String phase = "INIT";
+
+    /* protegidos por this */
+    private final Map<String, long[]> counters   = new LinkedHashMap<>();   // {iteraciones, aceptadas, ms}
+    private final List<Point>         trajectory = new ArrayList<>();
+    private final List<RatioSolve>    solves     = new ArrayList<>();
+
+    /** Fase en curso: a ella se atribuyen las mejoras del incumbente. */
+    void phase(String phase) {
+        this.phase = phase;
+    }
+
+    String phase() {
+        return phase;
+    }
+
+    /** Suma iteraciones, aceptadas y tiempo a la fase. */
+    synchronized void count(String phase, long iterations, long accepted, long ms) {
+        long[] c = counters.computeIfAbsent(phase, k -> new long[3]);
+        c[0] += iterations;
+        c[1] += accepted;
+        c[2] += ms;
+    }
+
+    /** Copia de los contadores por fase: {iteraciones, aceptadas, ms}. */
+    synchronized Map<String, long[]> counters() {
+        Map<String, long[]> copy = new LinkedHashMap<>();
+        counters.forEach((k, v) -> copy.put(k, v.clone()));
+        return copy;
+    }
+
+    /** Oyente del incumbente. */
+    void improved(Incumbent.Entry e) {
+        String p = phase;
+        ImprovementEvent ev = new ImprovementEvent();
+        if (ev.shouldCommit()) {
+            ev.ratio = e.ratio();
+            ev.phase = p;
+            ev.commit();
+        }
+        if (ENABLED) {
+            synchronized (this) {
+                trajectory.add(new Point(System.currentTimeMillis() - start, e.ratio(), p));
+            }
+        }
+    }
+
+    /** Abre el evento JFR de un solve de la bisección (cerrar con {@link #ratioSolve}). */
+    static RatioSolveEvent beginRatioSolve() {
+        RatioSolveEvent ev = new RatioSolveEvent();
+        ev.begin();
+        return ev;
+    }
+
+    /** Cierra el solve: evento JFR y, con {@link #ENABLED}, entrada en el informe. */
+    void ratioSolve(RatioSolveEvent ev, double ratio, String outcome, long durationMs) {
+        ev.end();
+        if (ev.shouldCommit()) {
+            ev.ratio   = ratio;
+            ev.outcome = outcome;
+            ev.commit();
+        }
+        if (ENABLED) {
+            synchronized (this) {
+                solves.add(new RatioSolve(System.currentTimeMillis() - start, ratio, outcome, durationMs));
+            }
+        }
+    }
+
+    /** Abre el evento JFR de una rebanada del planificador. */
+    static SliceEvent beginSlice(String phase, double ratioBefore) {
+        SliceEvent ev = new SliceEvent();
+        ev.phase       = phase;
+        ev.ratioBefore = ratioBefore;
+        ev.begin();
+        return ev;
+    }
+
+    static void endSlice(SliceEvent ev, double ratioAfter) {
+        ev.end();
+        if (ev.shouldCommit()) {
+            ev.ratioAfter = ratioAfter;
+            ev.commit();
+        }
+    }
+
+    /* ───────────────────────────── Informe ───────────────────────────── */
+    /**
+     * Escribe {@code <salida>.telemetry.json} (contadores por fase, llamadas
+     * de cobertura por segundo, solves de la bisección y trayectoria) y
+     * {@code <salida>.trajectory.csv}.
+     */
+    synchronized void writeReport(Path output, double finalRatio) throws IOException {
+        long   elapsed = System.currentTimeMillis() - start;
+        double secs    = Math.max(1, elapsed) / 1000.0;
+        StringBuilder j = new StringBuilder(4096);
+        j.append("{\n");
+        j.append("  \"elapsedMs\": ").append(elapsed).append(",\n");
+        j.append("  \"finalRatio\": ").append(num(finalRatio)).append(",\n");
+        j.append("  \"coverCalls\": ").append(coverCalls.sum()).append(",\n");
+        j.append("  \"coverCallsPerSec\": ").append(num(coverCalls.sum() / secs)).append(",\n");
+
+        j.append("  \"phases\": {");
+        String sep = "\n";
+        for (Map.Entry<String, long[]> e : counters.entrySet()) {
+            long[] c = e.getValue();
+            j.append(sep).append("    \"").append(e.getKey()).append("\": {\"iterations\": ").append(c[0])
+             .append(", \"accepted\": ").append(c[1]).append(", \"timeMs\": ").append(c[2])
+             .append(", \"iterationsPerSec\": ").append(num(c[0] / (Math.max(1, c[2]) / 1000.0))).append('}');
+            sep = ",\n";
+        }
+        j.append("\n  },\n");
+
+        j.append("  \"ratioSolves\": [");
+        sep = "\n";
+        for (RatioSolve s : solves) {
+            j.append(sep).append("    {\"ms\": ").append(s.ms()).append(", \"ratio\": ").append(num(s.ratio()))
+             .append(", \"outcome\": \"").append(s.outcome()).append("\", \"durationMs\": ").append(s.durationMs()).append('}');
+            sep = ",\n";
+        }
+        j.append("\n  ],\n");
+
+        j.append("  \"trajectory\": [");
+        sep = "\n";
+        for (Point p : trajectory) {
+            j.append(sep).append("    {\"ms\": ").append(p.ms()).append(", \"ratio\": ").append(num(p.ratio()))
+             .append(", \"phase\": \"").append(p.phase()).append("\"}");
+            sep = ",\n";
+        }
+        j.append("\n  ]\n}\n");
+        Files.writeString(output.resolveSibling(output.getFileName() + ".telemetry.json"), j, StandardCharsets.UTF_8);
+
+        StringBuilder csv = new StringBuilder("ms,ratio,phase\n");
+        for (Point p : trajectory) csv.append(p.ms()).append(',').append(num(p.ratio())).append(',').append(p.phase()).append('\n');
+        Files.writeString(output.resolveSibling(output.getFileName() + ".trajectory.csv"), csv, StandardCharsets.UTF_8);
+    }
+
+    private static String num(double v) {
+        return Double.isFinite(v) ? String.format(Locale.ROOT, "%.6g", v) : "null";
+    }
+}
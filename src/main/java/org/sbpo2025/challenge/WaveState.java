@@ -0,0 +1,335 @@
+package org.sbpo2025.challenge;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Estado incremental de una ola: demanda y suministro por ítem, unidades
+ * totales y, para cada pasillo abierto, cuántos ítems con demanda positiva
+ * ofrece (contador de referencias). Un pasillo con referencia 0 no sirve a
+ * ninguna orden de la ola y se cierra al quitar órdenes.
+ *
+ * Los movimientos añadir / quitar / intercambiar cuestan O(ítems de las
+ * órdenes × pasillos tocados) y quedan registrados en un diario; con
+ * {@link #mark()} / {@link #rollback(int)} se deshacen en orden LIFO
+ * restaurando exactamente las posiciones de las listas, sin reservar memoria.
+ *
+ * No es thread-safe: un estado por hilo.
+ */
+final class WaveState {
+    static final int    MAX_AISLES = 20;
+    static final double INFEASIBLE = Double.NEGATIVE_INFINITY;
+
+    /* operaciones del diario: (código | posición << 2, id) */
+    private static final int ORDER_IN    = 0;
+    private static final int ORDER_OUT   = 1;
+    private static final int AISLE_OPEN  = 2;
+    private static final int AISLE_CLOSE = 3;
+
+    private final Instance inst;
+    private final int[] demand;
+    private final int[] supply;
+    private final int[] aisleRef;
+
+    private final boolean[] inWave;
+    private final int[]     orderPos;
+    private final IntList   orders = new IntList();
+
+    private final boolean[] open;
+    private final int[]     aislePos;
+    private final IntList   aisles = new IntList();
+
+    private long units;
+    private int  uncovered;              // ítems con demanda > suministro
+
+    private final IntList journal = new IntList(256);
+
+    WaveState(Instance inst) {
+        this.inst     = inst;
+        this.demand   = new int[inst.nItems];
+        this.supply   = new int[inst.nItems];
+        this.aisleRef = new int[inst.nAisles];
+        this.inWave   = new boolean[inst.nOrders];
+        this.orderPos = new int[inst.nOrders];
+        this.open     = new boolean[inst.nAisles];
+        this.aislePos = new int[inst.nAisles];
+    }
+
+    /* ───────────────────────────── Consultas ───────────────────────────── */
+    long units()              { return units; }
+    int numOrders()           { return orders.size(); }
+    int numAisles()           { return aisles.size(); }
+    int order(int idx)        { return orders.get(idx); }
+    int aisle(int idx)        { return aisles.get(idx); }
+    boolean contains(int o)   { return inWave[o]; }
+    boolean isOpen(int a)     { return open[a]; }
+    boolean isCovered()       { return uncovered == 0; }
+    boolean isUncovered(int item) { return demand[item] > supply[item]; }
+
+    double ratio() {
+        return aisles.isEmpty() ? 0.0 : units / (double) aisles.size();
+    }
+
+    /** Factible según las reglas del reto: cotas de la ola, ≤ 20 pasillos y cobertura. */
+    boolean isFeasible() {
+        return !orders.isEmpty() && !aisles.isEmpty() && uncovered == 0
+                && units >= inst.waveSizeLB && units <= inst.waveSizeUB
+                && aisles.size() <= MAX_AISLES;
+    }
+
+    /* ───────────────────────────── Movimientos ───────────────────────────── */
+    /**
+     * Añade la orden y abre, por ítem descubierto, los mejores pasillos del
+     * índice ítem → pasillos hasta cubrirlo. Devuelve false si algún ítem no
+     * puede cubrirse con todos los pasillos (el estado queda a medias: deshacer).
+     */
+    boolean addOrder(int o) {
+        orderIn(o);
+        for (int k = inst.orderStart[o]; k < inst.orderStart[o + 1]; k++) {
+            int item = inst.orderItem[k];
+            for (int p = inst.itemAisleStart[item];
+                 demand[item] > supply[item] && p < inst.itemAisleStart[item + 1]; p++) {
+                if (inst.itemAisleQty[p] <= 0) break;
+                int a = inst.itemAisle[p];
+                if (!open[a]) aisleOpen(a);
+            }
+            if (demand[item] > supply[item]) return false;
+        }
+        return true;
+    }
+
+    /** La orden cabe en el suministro libre de los pasillos abiertos (sin abrir ninguno). */
+    boolean fitsOpenAisles(int o) {
+        for (int k = inst.orderStart[o]; k < inst.orderStart[o + 1]; k++) {
+            int item = inst.orderItem[k];
+            if (demand[item] + inst.orderQty[k] > supply[item]) return false;
+        }
+        return true;
+    }
+
+    /** Quita la orden y cierra los pasillos que dejan de servir a la ola. */
+    void removeOrder(int o) {
+        orderOut(o);
+        closeUnused();
+    }
+
+    /** Abre un pasillo a mano (p. ej. al cargar una solución). */
+    void openAisle(int a) {
+        if (!open[a]) aisleOpen(a);
+    }
+
+    /** Cierra un pasillo a mano; la cobertura puede quedar incompleta ({@link #isCovered()}). */
+    void closeAisle(int a) {
+        if (open[a]) aisleClose(a);
+    }
+
+    /** Cierra los pasillos que no ofrecen ningún ítem con demanda. */
+    void closeUnused() {
+        for (int idx = aisles.size() - 1; idx >= 0; idx--) {
+            int a = aisles.get(idx);
+            if (aisleRef[a] == 0) aisleClose(a);
+        }
+    }
+
+    /** Carga una solución sobre el estado vacío (descarta pasillos sin uso); devuelve false si no cubre. */
+    boolean load(Set<Integer> selO, Set<Integer> selA) {
+        for (int a : selA) openAisle(a);
+        boolean ok = true;
+        for (int o : selO) ok &= addOrder(o);
+        closeUnused();
+        commit();
+        return ok;
+    }
+
+    /* ─────────────── Evaluación exacta de movimientos (delta de ratio) ─────────────── */
+    /** Cambio exacto de ratio al añadir {@code o}, o {@link #INFEASIBLE}. */
+    double deltaAdd(int o) {
+        if (inWave[o] || units + inst.orderUnits[o] > inst.waveSizeUB) return INFEASIBLE;
+        double before = ratio();
+        int m = mark();
+        boolean ok = addOrder(o);
+        double d = ok && isFeasible() ? ratio() - before : INFEASIBLE;
+        rollback(m);
+        return d;
+    }
+
+    /** Cambio exacto de ratio al quitar {@code o}, o {@link #INFEASIBLE}. */
+    double deltaRemove(int o) {
+        if (!inWave[o] || units - inst.orderUnits[o] < inst.waveSizeLB) return INFEASIBLE;
+        double before = ratio();
+        int m = mark();
+        removeOrder(o);
+        double d = isFeasible() ? ratio() - before : INFEASIBLE;
+        rollback(m);
+        return d;
+    }
+
+    /** Cambio exacto de ratio al cambiar {@code out} por {@code in}, o {@link #INFEASIBLE}. */
+    double deltaSwap(int out, int in) {
+        if (!inWave[out] || inWave[in]) return INFEASIBLE;
+        long nu = units - inst.orderUnits[out] + inst.orderUnits[in];
+        if (nu < inst.waveSizeLB || nu > inst.waveSizeUB) return INFEASIBLE;
+        double before = ratio();
+        int m = mark();
+        removeOrder(out);
+        boolean ok = addOrder(in);
+        double d = ok && isFeasible() ? ratio() - before : INFEASIBLE;
+        rollback(m);
+        return d;
+    }
+
+    /* ───────────────────────────── Diario ───────────────────────────── */
+    int mark() {
+        return journal.size();
+    }
+
+    /** Deshace en orden inverso todas las operaciones posteriores a {@code mark}. */
+    void rollback(int mark) {
+        while (journal.size() > mark) {
+            int id   = journal.pop();
+            int head = journal.pop();
+            int pos  = head >>> 2;
+            switch (head & 3) {
+                case ORDER_IN    -> undoOrderIn(id);
+                case ORDER_OUT   -> undoOrderOut(id, pos);
+                case AISLE_OPEN  -> undoAisleOpen(id);
+                default          -> undoAisleClose(id, pos);
+            }
+        }
+    }
+
+    /** Confirma los cambios: el diario queda vacío. */
+    void commit() {
+        journal.clear();
+    }
+
+    Set<Integer> ordersAsSet() {
+        Set<Integer> s = new HashSet<>(orders.size() * 2);
+        for (int idx = 0; idx < orders.size(); idx++) s.add(orders.get(idx));
+        return s;
+    }
+
+    Set<Integer> aislesAsSet() {
+        Set<Integer> s = new HashSet<>(aisles.size() * 2);
+        for (int idx = 0; idx < aisles.size(); idx++) s.add(aisles.get(idx));
+        return s;
+    }
+
+    ChallengeSolution toSolution() {
+        return new ChallengeSolution(ordersAsSet(), aislesAsSet());
+    }
+
+    /* ─────────────────────── Operaciones primitivas ─────────────────────── */
+    private void orderIn(int o) {
+        inWave[o]   = true;
+        orderPos[o] = orders.size();
+        orders.add(o);
+        applyDemand(o, +1);
+        log(ORDER_IN, 0, o);
+    }
+
+    private void orderOut(int o) {
+        int pos = orderPos[o];
+        swapRemove(orders, orderPos, pos);
+        inWave[o] = false;
+        applyDemand(o, -1);
+        log(ORDER_OUT, pos, o);
+    }
+
+    private void aisleOpen(int a) {
+        open[a]     = true;
+        aislePos[a] = aisles.size();
+        aisles.add(a);
+        applySupply(a, +1);
+        log(AISLE_OPEN, 0, a);
+    }
+
+    private void aisleClose(int a) {
+        int pos = aislePos[a];
+        swapRemove(aisles, aislePos, pos);
+        open[a] = false;
+        applySupply(a, -1);
+        log(AISLE_CLOSE, pos, a);
+    }
+
+    private void undoOrderIn(int o) {
+        orders.pop();
+        inWave[o] = false;
+        applyDemand(o, -1);
+    }
+
+    private void undoOrderOut(int o, int pos) {
+        reinsert(orders, orderPos, pos, o);
+        inWave[o] = true;
+        applyDemand(o, +1);
+    }
+
+    private void undoAisleOpen(int a) {
+        aisles.pop();
+        open[a] = false;
+        applySupply(a, -1);
+    }
+
+    private void undoAisleClose(int a, int pos) {
+        reinsert(aisles, aislePos, pos, a);
+        open[a] = true;
+        applySupply(a, +1);
+    }
+
+    private void applyDemand(int o, int sign) {
+        units += sign * (long) inst.orderUnits[o];
+        for (int k = inst.orderStart[o]; k < inst.orderStart[o + 1]; k++) {
+            int item = inst.orderItem[k];
+            int before = demand[item];
+            int after  = before + sign * inst.orderQty[k];
+            demand[item] = after;
+            uncovered += (after > supply[item] ? 1 : 0) - (before > supply[item] ? 1 : 0);
+            if ((before > 0) != (after > 0)) {
+                int dr = after > 0 ? 1 : -1;
+                for (int idx = 0; idx < aisles.size(); idx++) {
+                    int a = aisles.get(idx);
+                    if (inst.aisleQuantity(a, item) > 0) aisleRef[a] += dr;
+                }
+            }
+        }
+    }
+
+    private void applySupply(int a, int sign) {
+        int ref = 0;
+        for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1]; k++) {
+            int item = inst.aisleItem[k];
+            int before = supply[item];
+            int after  = before + sign * inst.aisleQty[k];
+            supply[item] = after;
+            uncovered += (demand[item] > after ? 1 : 0) - (demand[item] > before ? 1 : 0);
+            if (demand[item] > 0 && inst.aisleQty[k] > 0) ref++;
+        }
+        aisleRef[a] = sign > 0 ? ref : 0;
+    }
+
+    /** Quita por intercambio con el último; LIFO-reversible con {@link #reinsert}. */
+    private static void swapRemove(IntList list, int[] pos, int idx) {
+        int last = list.pop();
+        if (idx < list.size()) {
+            list.set(idx, last);
+            pos[last] = idx;
+        }
+    }
+
+    private static void reinsert(IntList list, int[] pos, int idx, int v) {
+        if (idx < list.size()) {
+            int moved = list.get(idx);
+            pos[moved] = list.size();
+            list.add(moved);
+            list.set(idx, v);
+        } else {
+            list.add(v);
+        }
+        pos[v] = idx;
+    }
+
+    private void log(int code, int pos, int id) {
+        journal.add(code | (pos << 2));
+        journal.add(id);
+    }
+}
@@ -0,0 +1,7 @@
+package ilog.concert;
+
+public class IloException extends Exception {
+    public IloException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,4 @@
+package ilog.concert;
+
+public interface IloIntVar extends IloNumVar {
+}
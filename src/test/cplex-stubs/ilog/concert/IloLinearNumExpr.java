@@ -0,0 +1,5 @@
+package ilog.concert;
+
+public interface IloLinearNumExpr extends IloNumExpr {
+    void addTerm(double coef, IloNumVar var) throws IloException;
+}
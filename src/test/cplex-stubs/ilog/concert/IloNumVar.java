@@ -0,0 +1,4 @@
+package ilog.concert;
+
+public interface IloNumVar extends IloNumExpr, IloAddable {
+}
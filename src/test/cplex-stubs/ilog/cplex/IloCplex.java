@@ -0,0 +1,84 @@
+package ilog.cplex;
+
+import ilog.concert.IloException;
+import ilog.concert.IloIntVar;
+import ilog.concert.IloLinearNumExpr;
+import ilog.concert.IloNumExpr;
+import ilog.concert.IloNumVar;
+import ilog.concert.IloObjective;
+import ilog.concert.IloRange;
+
+/**
+ * Firmas de la API de CPLEX 22.1 que usa {@code CplexRatioBackend}, sin
+ * implementación: sólo sirven para comprobar en los tests que la clase compila
+ * cuando el jar de CPLEX no está. Si el backend usa algo nuevo de CPLEX, se
+ * añade aquí con la misma firma que en el jar.
+ */
+public class IloCplex {
+    public IloCplex() throws IloException {
+        throw new IloException("CPLEX API stub");
+    }
+
+    public static class IntParam {
+    }
+
+    public static class DoubleParam {
+    }
+
+    public static class Param {
+        public static final IntParam    Threads   = new IntParam();
+        public static final DoubleParam TimeLimit = new DoubleParam();
+
+        public static class MIP {
+            public static class Limits {
+                public static final IntParam Solutions = new IntParam();
+            }
+        }
+
+        public static class Emphasis {
+            public static final IntParam MIP = new IntParam();
+        }
+    }
+
+    public static class Aborter {
+        public void abort() {
+        }
+
+        public void clear() {
+        }
+    }
+
+    public static class Status {
+        public static final Status Optimal    = new Status();
+        public static final Status Infeasible = new Status();
+    }
+
+    public static class MIPStartEffort {
+        public static final MIPStartEffort Repair = new MIPStartEffort();
+    }
+
+    public void setParam(IntParam param, int value) throws IloException { }
+    public void setParam(DoubleParam param, double value) throws IloException { }
+    public void setOut(java.io.OutputStream out) { }
+    public Aborter use(Aborter aborter) throws IloException { return aborter; }
+
+    public IloIntVar[] boolVarArray(int n) throws IloException { return null; }
+    public IloLinearNumExpr linearNumExpr() throws IloException { return null; }
+    public IloRange addGe(IloNumExpr expr, double rhs) throws IloException { return null; }
+    public IloRange addLe(IloNumExpr expr, double rhs) throws IloException { return null; }
+    public IloRange addLe(IloNumExpr expr1, IloNumExpr expr2) throws IloException { return null; }
+    public IloObjective addMaximize(IloNumExpr expr) throws IloException { return null; }
+    public void setLinearCoefs(IloRange range, IloNumVar[] vars, double[] vals) throws IloException { }
+    public void setLinearCoefs(IloObjective obj, IloNumVar[] vars, double[] vals) throws IloException { }
+
+    public int addMIPStart(IloNumVar[] vars, double[] vals, MIPStartEffort effort) throws IloException { return 0; }
+    public void deleteMIPStarts(int first, int num) throws IloException { }
+    public int getNMIPStarts() throws IloException { return 0; }
+
+    public boolean solve() throws IloException { return false; }
+    public Status getStatus() throws IloException { return null; }
+    public double getObjValue() throws IloException { return 0; }
+    public double getBestObjValue() throws IloException { return 0; }
+    public double[] getValues(IloNumVar[] vars) throws IloException { return null; }
+    public void end() { }
+}
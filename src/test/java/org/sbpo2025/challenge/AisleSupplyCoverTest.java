@@ -0,0 +1,136 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * La cobertura por el índice ítem → pasillos ({@link AisleSupply#greedyCover}
+ * vía {@link ChallengeSolver#greedyAddAislesForOrder}) tiene que proponer los
+ * mismos pasillos que el greedy original sobre mapas, orden a orden, sobre una
+ * muestra de órdenes de cada instancia de {@code datasets/a} y
+ * {@code datasets/b}, partiendo de un conjunto vacío y de unos pocos pasillos
+ * ya abiertos.
+ */
+class AisleSupplyCoverTest {
+    private static final int ORDERS_PER_INSTANCE = 200;
+    private static final int MAX_OPEN            = 6;
+
+    @Test
+    void coverMatchesMapGreedyOnDatasetA() throws IOException {
+        checkDataset(Path.of("datasets", "a"));
+    }
+
+    @Test
+    void coverMatchesMapGreedyOnDatasetB() throws IOException {
+        checkDataset(Path.of("datasets", "b"));
+    }
+
+    private static void checkDataset(Path dir) throws IOException {
+        List<Path> files;
+        try (Stream<Path> s = Files.list(dir)) {
+            files = s.filter(p -> p.getFileName().toString().endsWith(".txt")).sorted().toList();
+        }
+        assertFalse(files.isEmpty(), "no instances in " + dir);
+        for (Path file : files) checkInstance(file);
+    }
+
+    private static void checkInstance(Path file) throws IOException {
+        MapInstance ref = MapInstance.read(file);
+        Instance inst = InstanceParser.parse(file);
+        ChallengeSolver solver = new ChallengeSolver(inst, SolverConfig.builder().build());
+        AisleSupply supply = new AisleSupply(inst);
+        IntList added = new IntList();
+        Random rand = new Random(file.getFileName().toString().hashCode());
+
+        for (int n = 0; n < ORDERS_PER_INSTANCE; n++) {
+            int o = rand.nextInt(inst.nOrders);
+            supply.clear();
+            Set<Integer> open = new HashSet<>();
+            for (int k = rand.nextInt(MAX_OPEN + 1); k > 0; k--) {
+                int a = rand.nextInt(inst.nAisles);
+                supply.open(a);
+                open.add(a);
+            }
+
+            added.clear();
+            solver.greedyAddAislesForOrder(o, supply, added);
+            Set<Integer> got = new HashSet<>();
+            for (int k = 0; k < added.size(); k++) got.add(added.get(k));
+
+            String where = file.getFileName() + " order " + o + " open " + open;
+            assertEquals(added.size(), got.size(), where + ": repeated aisles " + got);
+            assertEquals(ref.greedyAddAislesForOrder(o, open), got, where);
+            assertEquals(open, supply.toSet(), where + ": the cover must not open aisles");
+        }
+    }
+
+    /** Lectura y greedy de la versión original, sobre mapas ítem → cantidad. */
+    private record MapInstance(List<Map<Integer, Integer>> orders, List<Map<Integer, Integer>> aisles) {
+
+        static MapInstance read(Path file) throws IOException {
+            try (BufferedReader reader = Files.newBufferedReader(file)) {
+                String[] first = reader.readLine().trim().split(" ");
+                List<Map<Integer, Integer>> orders = readRows(reader, Integer.parseInt(first[0]));
+                List<Map<Integer, Integer>> aisles = readRows(reader, Integer.parseInt(first[2]));
+                return new MapInstance(orders, aisles);
+            }
+        }
+
+        private static List<Map<Integer, Integer>> readRows(BufferedReader reader, int n) throws IOException {
+            List<Map<Integer, Integer>> rows = new ArrayList<>(n);
+            for (int r = 0; r < n; r++) {
+                String[] line = reader.readLine().trim().split(" ");
+                Map<Integer, Integer> row = new HashMap<>();
+                for (int k = 0; k < Integer.parseInt(line[0]); k++)
+                    row.put(Integer.parseInt(line[2 * k + 1]), Integer.parseInt(line[2 * k + 2]));
+                rows.add(row);
+            }
+            return rows;
+        }
+
+        /**
+         * Para cada ítem de la orden que los pasillos abiertos no cubren, el
+         * pasillo con más suministro (el de menor id a igualdad) que no esté ni
+         * abierto ni ya propuesto. El original recorría el {@code HashMap} en el
+         * orden de sus cubetas; aquí se fija el orden ascendente de ítems, el de
+         * las filas CSR: con dos ítems cuyo mejor pasillo coincide el resultado
+         * depende del orden (b/instance_0002, orden 1426).
+         */
+        Set<Integer> greedyAddAislesForOrder(int orderIdx, Set<Integer> currentAisles) {
+            Set<Integer> added = new HashSet<>();
+            for (Map.Entry<Integer, Integer> e : new TreeMap<>(orders.get(orderIdx)).entrySet()) {
+                int item = e.getKey(), qty = e.getValue();
+                if (qty <= 0) continue;
+
+                int covered = 0;
+                for (int a : currentAisles) covered += aisles.get(a).getOrDefault(item, 0);
+                if (covered >= qty) continue;
+
+                int bestA = -1, bestSup = 0;
+                for (int a = 0; a < aisles.size(); a++) {
+                    if (currentAisles.contains(a) || added.contains(a)) continue;
+                    int sup = aisles.get(a).getOrDefault(item, 0);
+                    if (sup > bestSup) { bestSup = sup; bestA = a; }
+                }
+                if (bestA >= 0) added.add(bestA);
+            }
+            return added;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link BatchRunner#run}: una salida por instancia y un fichero roto no para el lote. */
+class BatchRunnerTest {
+
+    @Test
+    void solvesEveryInstanceAndReportsBrokenOnes() throws IOException {
+        Path dir = Files.createTempDirectory("batch");
+        try {
+            Path in = Files.createDirectories(dir.resolve("in")), out = dir.resolve("out");
+            Files.createDirectories(out);
+            Files.copy(Path.of("datasets", "a", "instance_0001.txt"), in.resolve("a1.txt"));
+            Files.copy(Path.of("datasets", "a", "instance_0002.txt"), in.resolve("a2.txt"));
+            Files.writeString(in.resolve("broken.txt"), "3 2\n");
+            List<Path> inputs = List.of(in.resolve("broken.txt"), in.resolve("a2.txt"), in.resolve("a1.txt"));
+
+            SolverConfig config = SolverConfig.builder().workers(1).timeLimitMs(1_000).stallMs(1_000)
+                                              .checkpointMs(0).build();
+            List<BatchRunner.Outcome> outcomes = BatchRunner.run(inputs, out, config, 2);
+
+            assertEquals(List.of("a1.txt", "a2.txt", "broken.txt"),
+                         outcomes.stream().map(BatchRunner.Outcome::name).toList());
+            for (BatchRunner.Outcome o : outcomes.subList(0, 2)) {
+                assertTrue(o.feasible(), o.name());
+                assertTrue(o.ratio() > 0, o.name());
+                assertNull(o.error(), o.name());
+                Path sol = out.resolve(o.name());
+                assertTrue(Files.size(sol) > 0, o.name());
+                Instance inst = InstanceParser.parse(in.resolve(o.name()));
+                assertTrue(new ChallengeSolver(inst, config).isSolutionFeasible(read(sol)), o.name());
+            }
+            BatchRunner.Outcome broken = outcomes.get(2);
+            assertFalse(broken.feasible());
+            assertNotNull(broken.error());
+            assertFalse(Files.exists(out.resolve("broken.txt")));
+        } finally {
+            try (Stream<Path> s = Files.walk(dir)) {
+                s.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    /** Lee una salida de una ola: nº de órdenes, sus ids, nº de pasillos, sus ids. */
+    private static ChallengeSolution read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        int k = 0;
+        Set<Integer> orders = new HashSet<>(), aisles = new HashSet<>();
+        for (int n = Integer.parseInt(lines.get(k++).trim()); n > 0; n--) orders.add(Integer.parseInt(lines.get(k++).trim()));
+        for (int n = Integer.parseInt(lines.get(k++).trim()); n > 0; n--) aisles.add(Integer.parseInt(lines.get(k++).trim()));
+        return new ChallengeSolution(orders, aisles);
+    }
+}
@@ -0,0 +1,35 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link ChallengeSolver#solve} con la fase de ratio sobre {@link FakeRatioBackend}. */
+class ChallengeSolverTest {
+
+    /** Con todas las órdenes en un pasillo: supera la UB y no cubre los ítems, pero su "ratio" es enorme. */
+    @Test
+    void anInfeasibleWaveFromTheRatioModelNeverReachesTheIncumbent() throws IOException {
+        Instance inst = InstanceParser.parse(Path.of("datasets", "a", "instance_0001.txt"));
+        Set<Integer> all = new HashSet<>();
+        for (int o = 0; o < inst.nOrders; o++) all.add(o);
+        ChallengeSolution bogus = new ChallengeSolution(all, Set.of(0));
+        SolverConfig config = new SolverConfig(1);
+        ChallengeSolver solver = new ChallengeSolver(inst, config);
+        assertFalse(solver.isSolutionFeasible(bogus));
+
+        FakeRatioBackend backend = new FakeRatioBackend(inst.totalUnitsRequested, bogus);
+        solver.ratioBackend(i -> backend);
+        solver.verbose(false);
+        ChallengeSolution sol = solver.solve(CancelToken.until(System.currentTimeMillis() + 2_000));
+
+        assertTrue(backend.calls > 0, "the ratio phase never ran");
+        assertTrue(solver.isSolutionFeasible(sol));
+    }
+}
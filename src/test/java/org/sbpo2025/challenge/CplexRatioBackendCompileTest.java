@@ -0,0 +1,58 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link CplexRatioBackend} queda fuera de la compilación con {@code -DnoCplex};
+ * aquí se compila contra las firmas de {@code src/test/cplex-stubs} para que un
+ * cambio que la rompa se vea también sin el jar de CPLEX.
+ */
+class CplexRatioBackendCompileTest {
+    private static final Path SOURCES = Path.of("src", "main", "java");
+    private static final Path STUBS   = Path.of("src", "test", "cplex-stubs");
+    private static final Path BACKEND = SOURCES.resolve("org/sbpo2025/challenge/CplexRatioBackend.java");
+
+    @Test
+    void compilesAgainstTheCplexApiStubs() throws IOException {
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        assertNotNull(javac, "tests need a JDK, not a JRE");
+
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> s = Files.walk(STUBS)) {
+            s.filter(p -> p.toString().endsWith(".java")).forEach(files::add);
+        }
+        files.add(BACKEND);
+
+        Path out = Files.createTempDirectory("cplex-stubs");
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fm = javac.getStandardFileManager(diagnostics, null, null)) {
+            List<String> options = List.of(
+                    "-d", out.toString(),
+                    "-sourcepath", SOURCES.toString(),
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-proc:none", "-implicit:none", "-encoding", "UTF-8");
+            boolean ok = javac.getTask(null, fm, diagnostics, options, null,
+                                       fm.getJavaFileObjectsFromPaths(files)).call();
+            assertTrue(ok, "CplexRatioBackend does not compile against the stubs: " + diagnostics.getDiagnostics());
+        } finally {
+            try (Stream<Path> s = Files.walk(out)) {
+                s.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** {@link Decomposition#solveAll}: un subproblema que falla no se lleva los demás. */
+class DecompositionTest {
+
+    @Test
+    void aFailingSubproblemIsSkipped() {
+        Instance good = new Instance(1,
+                new int[]{0, 1}, new int[]{0}, new int[]{2},
+                new int[]{0, 1}, new int[]{0}, new int[]{5},
+                1, 10);
+        Instance broken = new Instance(1,                              // sin órdenes: el resolutor falla
+                new int[]{0}, new int[]{}, new int[]{},
+                new int[]{0, 1}, new int[]{0}, new int[]{5},
+                1, 10);
+        List<Decomposition.Cluster> clusters = List.of(
+                new Decomposition.Cluster(new int[]{0}, Presolve.identity(broken), 1.0),
+                new Decomposition.Cluster(new int[]{0}, Presolve.identity(good), 2.0));
+
+        Decomposition d = new Decomposition();
+        d.solveAll(clusters, new SolverConfig(2), CancelToken.until(System.currentTimeMillis() + 1_000));
+
+        assertEquals(List.of(new ChallengeSolution(Set.of(0), Set.of(0))), d.solutions);
+        assertEquals(1, d.failures.size());
+    }
+}
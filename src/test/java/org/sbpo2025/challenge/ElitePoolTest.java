@@ -0,0 +1,69 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Entrada y sustitución en {@link ElitePool} y parejas para el path relinking. */
+class ElitePoolTest {
+
+    /** Ola con los pasillos {@code from .. from + n − 1} (las órdenes no cuentan para la distancia). */
+    private static ChallengeSolution wave(int from, int n) {
+        Set<Integer> aisles = new HashSet<>();
+        for (int a = from; a < from + n; a++) aisles.add(a);
+        return new ChallengeSolution(Set.of(from), aisles);
+    }
+
+    @Test
+    void aCloseWaveOnlyReplacesItsNeighbourWhenBetter() {
+        ElitePool pool = new ElitePool();
+        assertTrue(pool.offer(wave(0, 5), 2.0));
+        assertFalse(pool.offer(wave(1, 5), 1.5));                      // distancia 2 < 4, peor
+        assertTrue(pool.offer(wave(1, 5), 3.0));                       // distancia 2, mejor: la sustituye
+        assertEquals(List.of(wave(1, 5)), pool.solutions());
+        assertTrue(pool.offer(wave(10, 5), 1.0));                      // lejos: entra sin sustituir
+        assertEquals(List.of(wave(1, 5), wave(10, 5)), pool.solutions());
+    }
+
+    @Test
+    void aFullPoolDropsItsWorstWave() {
+        ElitePool pool = new ElitePool();
+        for (int i = 0; i < ElitePool.CAPACITY; i++) assertTrue(pool.offer(wave(10 * i, 5), 1.0 + i));
+        assertFalse(pool.offer(wave(1000, 5), 0.5));
+        assertTrue(pool.offer(wave(1000, 5), 1.5));
+        assertEquals(ElitePool.CAPACITY, pool.size());
+        assertFalse(pool.solutions().contains(wave(0, 5)));
+        assertEquals(wave(10 * (ElitePool.CAPACITY - 1), 5), pool.solutions().get(0));
+    }
+
+    @Test
+    void everyPairIsHandedOutOnceBestFirst() {
+        ElitePool pool = new ElitePool();
+        pool.offer(wave(0, 5), 1.0);
+        pool.offer(wave(10, 5), 3.0);
+        pool.offer(wave(20, 5), 2.0);
+        Set<Long> tried = new HashSet<>();
+        Random rand = new Random(1);
+        for (int i = 0; i < 3; i++) {
+            ElitePool.Entry[] p = pool.pair(rand, tried);
+            assertTrue(p[0].ratio() >= p[1].ratio());
+        }
+        assertEquals(3, tried.size());
+        assertNull(pool.pair(rand, tried));
+    }
+
+    @Test
+    void distanceIsTheSymmetricDifference() {
+        assertEquals(0, ElitePool.distance(new int[]{1, 2, 3}, new int[]{1, 2, 3}));
+        assertEquals(3, ElitePool.distance(new int[]{1, 2, 3}, new int[]{2, 3, 4, 5}));
+        assertEquals(2, ElitePool.distance(new int[]{}, new int[]{7, 9}));
+    }
+}
@@ -0,0 +1,80 @@
+package org.sbpo2025.challenge;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Resolutor en memoria para ejercitar {@link RatioBisection} y
+ * {@link RatioDinkelbach} sin CPLEX: conoce el ratio óptimo y una ola que lo
+ * alcanza, responde factible hasta ese ratio e infactible por encima, salvo en
+ * {@code (unknownAbove, ∞)}, donde simula un solve que agota su tiempo. El
+ * paso de Dinkelbach devuelve la ola testigo mientras λ esté por debajo del
+ * óptimo. Con el testigo cancelado responde sin respuesta. Registra los
+ * arranques recibidos.
+ *
+ * Los miembros estáticos son el escenario común de los tests de la bisección
+ * y de Dinkelbach.
+ */
+final class FakeRatioBackend implements RatioBackend {
+    /* ─────────────────────────── Escenario común ─────────────────────────── */
+    static final double OPTIMUM   = 3.7;
+    static final double UPPER     = 10.0;
+    static final double TOLERANCE = 1e-4;
+
+    static final ChallengeSolution WITNESS   = new ChallengeSolution(Set.of(1, 2), Set.of(0));
+    static final ChallengeSolution INCUMBENT = new ChallengeSolution(Set.of(1), Set.of(0));
+
+    /** Ratio de {@link #WITNESS} ({@link #OPTIMUM}) y de {@link #INCUMBENT} (2). */
+    static final ToDoubleFunction<ChallengeSolution> RATIO =
+            Map.of(WITNESS, OPTIMUM, INCUMBENT, 2.0)::get;
+
+    /** Token sin plazo. */
+    static CancelToken live() {
+        return CancelToken.until(Long.MAX_VALUE);
+    }
+
+    /* ────────────────────────────── Resolutor ────────────────────────────── */
+    private final double            optimum;
+    private final ChallengeSolution witness;
+    private final double            unknownAbove;
+
+    final List<ChallengeSolution> warmStarts = new ArrayList<>();
+    int     calls;
+    boolean closed;
+
+    FakeRatioBackend(double optimum, ChallengeSolution witness) {
+        this(optimum, witness, Double.POSITIVE_INFINITY);
+    }
+
+    FakeRatioBackend(double optimum, ChallengeSolution witness, double unknownAbove) {
+        this.optimum      = optimum;
+        this.witness      = witness;
+        this.unknownAbove = unknownAbove;
+    }
+
+    @Override
+    public Result solve(double ratio, ChallengeSolution warmStart, CancelToken token) {
+        calls++;
+        warmStarts.add(warmStart);
+        if (closed) throw new IllegalStateException("backend closed");
+        if (token.isCancelled() || ratio > unknownAbove) return Result.UNKNOWN;
+        return ratio <= optimum ? Result.feasible(witness) : Result.INFEASIBLE;
+    }
+
+    @Override
+    public Result maximizeParametric(double lambda, ChallengeSolution warmStart, CancelToken token) {
+        calls++;
+        warmStarts.add(warmStart);
+        if (closed) throw new IllegalStateException("backend closed");
+        if (token.isCancelled() || lambda > unknownAbove) return Result.UNKNOWN;
+        return lambda < optimum ? Result.feasible(witness) : Result.INFEASIBLE;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,158 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Invariantes de {@link Instance} y de la instancia residual de
+ * {@link Instance#afterWave}: sumas por fila, transpuestas coherentes con las
+ * filas (la de pasillos por suministro descendente y pasillo ascendente),
+ * stock nunca negativo y la instancia de partida intacta.
+ */
+class InstanceTest {
+
+    /** Ítem 0 en los pasillos 0 (3 uds), 1 (5) y 2 (5); la orden 0 pide 7 y la 1 pide 1. */
+    private static Instance small() {
+        return new Instance(1,
+                new int[]{0, 1, 2}, new int[]{0, 0}, new int[]{7, 1},
+                new int[]{0, 1, 2, 3}, new int[]{0, 0, 0}, new int[]{3, 5, 5},
+                1, 10);
+    }
+
+    @Test
+    void afterWaveTakesFromTheLargestStockThenTheLowestId() {
+        Instance inst = small();
+        Instance next = inst.afterWave(new ChallengeSolution(Set.of(0), Set.of(0, 1, 2)));
+        assertEquals("[3, 0, 3]", Arrays.toString(next.aisleQty));
+        assertEquals("[0, 1]", Arrays.toString(next.orderUnits));
+        assertEquals(1L, next.totalUnitsRequested);
+        assertConsistent(next);
+
+        assertEquals("[3, 5, 5]", Arrays.toString(inst.aisleQty));                // la de partida no cambia
+        assertEquals("[7, 1]", Arrays.toString(inst.orderUnits));
+        assertEquals(8L, inst.totalUnitsRequested);
+    }
+
+    @Test
+    void afterWaveRejectsAnUncoveredWave() {
+        Instance inst = small();
+        assertThrows(IllegalArgumentException.class,
+                     () -> inst.afterWave(new ChallengeSolution(Set.of(0), Set.of(0))));
+    }
+
+    @Test
+    void successiveWavesKeepTheInvariantsOnDatasetA() throws IOException {
+        List<Path> files;
+        try (Stream<Path> s = Files.list(Path.of("datasets", "a"))) {
+            files = s.filter(p -> p.getFileName().toString().endsWith(".txt")).sorted().toList();
+        }
+        for (Path file : files) {
+            Instance inst = InstanceParser.parse(file);
+            assertConsistent(inst);
+            Random rand = new Random(file.getFileName().toString().hashCode());
+            for (int w = 0; w < 3; w++) {
+                ChallengeSolution wave = coveredWave(inst, rand);
+                if (wave == null) break;
+                int[]  aisleQty = inst.aisleQty.clone(), orderQty = inst.orderQty.clone();
+                long   units = 0;
+                for (int o : wave.orders()) units += inst.orderUnits[o];
+
+                Instance next = inst.afterWave(wave);
+                String where = file.getFileName() + " wave " + w;
+                assertConsistent(next);
+                assertEquals(inst.totalUnitsRequested - units, next.totalUnitsRequested, where);
+                long taken = 0;
+                for (int k = 0; k < aisleQty.length; k++) taken += aisleQty[k] - next.aisleQty[k];
+                assertEquals(units, taken, where + ": stock taken");
+                for (int o = 0; o < inst.nOrders; o++)
+                    assertEquals(wave.orders().contains(o) ? 0 : inst.orderUnits[o], next.orderUnits[o], where);
+                for (int a = 0; a < inst.nAisles; a++)
+                    if (!wave.aisles().contains(a)) assertEquals(inst.aisleUnits[a], next.aisleUnits[a], where);
+                assertEquals(Arrays.toString(aisleQty), Arrays.toString(inst.aisleQty), where + ": original changed");
+                assertEquals(Arrays.toString(orderQty), Arrays.toString(inst.orderQty), where + ": original changed");
+                inst = next;
+            }
+        }
+    }
+
+    /** Diez pasillos al azar y, en orden, las órdenes pendientes que su stock restante aún cubre. */
+    private static ChallengeSolution coveredWave(Instance inst, Random rand) {
+        Set<Integer> aisles = new HashSet<>();
+        while (aisles.size() < Math.min(10, inst.nAisles)) aisles.add(rand.nextInt(inst.nAisles));
+        Map<Integer, Integer> left = new HashMap<>();
+        for (int a : aisles)
+            for (int k = inst.aisleStart[a]; k < inst.aisleStart[a + 1]; k++)
+                left.merge(inst.aisleItem[k], inst.aisleQty[k], Integer::sum);
+        Set<Integer> orders = new HashSet<>();
+        for (int o = 0; o < inst.nOrders; o++) {
+            if (inst.orderUnits[o] == 0) continue;
+            boolean fits = true;
+            for (int k = inst.orderStart[o]; k < inst.orderStart[o + 1] && fits; k++)
+                fits = left.getOrDefault(inst.orderItem[k], 0) >= inst.orderQty[k];
+            if (!fits) continue;
+            for (int k = inst.orderStart[o]; k < inst.orderStart[o + 1]; k++)
+                left.merge(inst.orderItem[k], -inst.orderQty[k], Integer::sum);
+            orders.add(o);
+        }
+        return orders.isEmpty() ? null : new ChallengeSolution(orders, aisles);
+    }
+
+    /** Sumas, totales, cantidades ≥ 0 y transpuestas coherentes con las filas. */
+    static void assertConsistent(Instance inst) {
+        long total = 0;
+        for (int o = 0; o < inst.nOrders; o++) {
+            assertEquals(rowSum(inst.orderStart, inst.orderQty, o), inst.orderUnits[o], "units of order " + o);
+            total += inst.orderUnits[o];
+        }
+        assertEquals(total, inst.totalUnitsRequested);
+        for (int a = 0; a < inst.nAisles; a++)
+            assertEquals(rowSum(inst.aisleStart, inst.aisleQty, a), inst.aisleUnits[a], "units of aisle " + a);
+        for (int q : inst.orderQty) assertTrue(q >= 0, "negative order quantity");
+        for (int q : inst.aisleQty) assertTrue(q >= 0, "negative stock");
+
+        assertTranspose(inst.orderStart, inst.orderItem, inst.orderQty,
+                        inst.itemOrderStart, inst.itemOrder, inst.itemOrderQty);
+        assertTranspose(inst.aisleStart, inst.aisleItem, inst.aisleQty,
+                        inst.itemAisleStart, inst.itemAisle, inst.itemAisleQty);
+        for (int i = 0; i < inst.nItems; i++) {
+            for (int p = inst.itemAisleStart[i] + 1; p < inst.itemAisleStart[i + 1]; p++) {
+                int q0 = inst.itemAisleQty[p - 1], q1 = inst.itemAisleQty[p];
+                assertTrue(q0 > q1 || (q0 == q1 && inst.itemAisle[p - 1] < inst.itemAisle[p]),
+                           "supply row of item " + i + " out of order");
+            }
+        }
+    }
+
+    private static int rowSum(int[] start, int[] qty, int r) {
+        int s = 0;
+        for (int k = start[r]; k < start[r + 1]; k++) s += qty[k];
+        return s;
+    }
+
+    /** Cada entrada de las filas aparece una vez en la transpuesta con la misma cantidad, y al revés. */
+    private static void assertTranspose(int[] start, int[] item, int[] qty, int[] tStart, int[] tRow, int[] tQty) {
+        assertEquals(item.length, tRow.length);
+        Map<Long, Integer> rows = new HashMap<>();
+        for (int r = 0; r + 1 < start.length; r++)
+            for (int k = start[r]; k < start[r + 1]; k++) rows.put((long) item[k] << 32 | r, qty[k]);
+        for (int i = 0; i + 1 < tStart.length; i++)
+            for (int p = tStart[i]; p < tStart[i + 1]; p++)
+                assertEquals(rows.remove((long) i << 32 | tRow[p]), (Integer) tQty[p], "transpose of item " + i);
+        assertTrue(rows.isEmpty(), "entries missing from the transpose");
+    }
+}
@@ -0,0 +1,48 @@
+package org.sbpo2025.challenge;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link MultiWave#run}: olas disjuntas, cada una factible sobre la residual de las anteriores. */
+class MultiWaveTest {
+
+    @Test
+    void wavesAreDisjointAndFeasibleOnTheResidualStock() throws IOException {
+        Instance original = InstanceParser.parse(Path.of("datasets", "a", "instance_0003.txt"));
+        SolverConfig config = SolverConfig.builder().workers(1).timeLimitMs(500).stallMs(500)
+                                          .checkpointMs(0).waves(3).build();
+        List<MultiWave.Wave> waves = MultiWave.run(original, config, StopWatch.createStarted());
+        assertTrue(!waves.isEmpty() && waves.size() <= 3, "waves: " + waves.size());
+
+        Instance inst = original;
+        Set<Integer> served = new HashSet<>();
+        for (MultiWave.Wave w : waves) {
+            ChallengeSolver check = new ChallengeSolver(inst, config);
+            assertTrue(check.isSolutionFeasible(w.solution()), "wave " + w.solution());
+            assertEquals(check.computeObjectiveFunction(w.solution()), w.ratio(), 1e-9);
+            for (int o : w.solution().orders()) assertTrue(served.add(o), "order " + o + " served twice");
+            inst = inst.afterWave(w.solution());
+        }
+
+        Path out = Files.createTempFile("waves", ".txt");
+        Path csv = out.resolveSibling(out.getFileName() + ".waves.csv");
+        try {
+            MultiWave.write(out, waves);
+            assertEquals(String.valueOf(waves.size()), Files.readAllLines(out).get(0).trim());
+            assertEquals(waves.size() + 1, Files.readAllLines(csv).size());
+        } finally {
+            Files.deleteIfExists(out);
+            Files.deleteIfExists(csv);
+        }
+    }
+}
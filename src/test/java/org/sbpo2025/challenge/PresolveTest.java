@@ -0,0 +1,37 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** {@link Presolve#restrict} sobre filas con líneas de cantidad 0. */
+class PresolveTest {
+
+    /**
+     * Orden 0: ítem 0 × 2 e ítem 1 × 0; orden 1: ítem 0 × 1. Nadie pide el
+     * ítem 1, que desaparece de la reducida; la línea a 0 de la orden 0 no
+     * puede quedar apuntando a él.
+     */
+    @Test
+    void restrictSkipsZeroQuantityLines() {
+        Instance inst = new Instance(2,
+                new int[]{0, 2, 3}, new int[]{0, 1, 0}, new int[]{2, 0, 1},
+                new int[]{0, 2, 3}, new int[]{0, 1, 1}, new int[]{3, 4, 5},
+                1, 10);
+        boolean[] all = {true, true};
+        Presolve p = Presolve.restrict(inst, all, all.clone());
+
+        Instance r = p.reduced;
+        assertEquals(1, r.nItems);
+        assertEquals("[0, 1, 2]", Arrays.toString(r.orderStart));
+        assertEquals("[0, 0]", Arrays.toString(r.orderItem));
+        assertEquals(3L, r.totalUnitsRequested);
+        assertEquals("[0, 1, 1]", Arrays.toString(r.aisleStart));      // el pasillo 1 sólo tenía el ítem 1
+
+        ChallengeSolution wave = new ChallengeSolution(Set.of(0, 1), Set.of(0));
+        assertEquals(wave, p.restore(p.reduce(wave)));
+    }
+}
@@ -0,0 +1,92 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.sbpo2025.challenge.FakeRatioBackend.INCUMBENT;
+import static org.sbpo2025.challenge.FakeRatioBackend.OPTIMUM;
+import static org.sbpo2025.challenge.FakeRatioBackend.RATIO;
+import static org.sbpo2025.challenge.FakeRatioBackend.TOLERANCE;
+import static org.sbpo2025.challenge.FakeRatioBackend.UPPER;
+import static org.sbpo2025.challenge.FakeRatioBackend.WITNESS;
+import static org.sbpo2025.challenge.FakeRatioBackend.live;
+
+/** {@link RatioBisection} contra {@link FakeRatioBackend}. */
+class RatioBisectionTest {
+
+    @Test
+    void convergesToTheOptimumWithAValidUpperBound() {
+        FakeRatioBackend backend = new FakeRatioBackend(OPTIMUM, WITNESS);
+        RatioBisection search = new RatioBisection(backend, UPPER, TOLERANCE, RATIO);
+        for (int i = 0; i < 100 && !search.converged(); i++) {
+            search.step(null, live());
+            assertTrue(search.upper() >= OPTIMUM, "upper below the optimum: " + search.upper());
+        }
+        assertTrue(search.converged());
+        assertEquals(OPTIMUM, search.lower(), 0.0);
+        assertTrue(search.upper() - search.lower() <= TOLERANCE * UPPER);
+        assertEquals(backend.calls, search.solves());
+    }
+
+    @Test
+    void infeasibleLowersTheProvenBound() {
+        RatioBisection search = new RatioBisection(new FakeRatioBackend(OPTIMUM, WITNESS), UPPER, TOLERANCE, RATIO);
+        search.raiseLower(1.0);
+        RatioSearch.Step step = search.step(null, live());
+        assertEquals(5.5, step.ratio(), 0.0);
+        assertEquals(RatioBackend.Status.INFEASIBLE, step.result().status());
+        assertFalse(step.cancelled());
+        assertEquals(5.5, search.upper(), 0.0);
+        assertEquals(1.0, search.lower(), 0.0);
+    }
+
+    @Test
+    void limitShrinksTheSearchButNotTheProvenBound() {
+        RatioBisection search = new RatioBisection(new FakeRatioBackend(8.0, WITNESS, 4.0), UPPER, TOLERANCE, RATIO);
+        RatioSearch.Step step = search.step(null, live());
+        assertEquals(5.0, step.ratio(), 0.0);
+        assertEquals(RatioBackend.Status.UNKNOWN, step.result().status());
+        assertFalse(step.cancelled());
+        assertEquals(UPPER, search.upper(), 0.0);
+
+        assertEquals(2.5, search.step(null, live()).ratio(), 0.0);     // hi bajó a 5
+        search.raiseLower(6.0);                                        // el incumbente pasa hi: se reabre
+        assertEquals(8.0, search.step(null, live()).ratio(), 0.0);
+        assertEquals(UPPER, search.upper(), 0.0);
+    }
+
+    @Test
+    void cancelledStepMovesNothing() {
+        FakeRatioBackend backend = new FakeRatioBackend(OPTIMUM, WITNESS);
+        RatioBisection search = new RatioBisection(backend, UPPER, TOLERANCE, RATIO);
+        search.raiseLower(2.0);
+        CancelToken cancelled = live();
+        cancelled.cancel();
+
+        RatioSearch.Step step = search.step(null, cancelled);
+        assertTrue(step.cancelled());
+        assertEquals(6.0, step.ratio(), 0.0);
+        assertEquals(2.0, search.lower(), 0.0);
+        assertEquals(UPPER, search.upper(), 0.0);
+        assertEquals(6.0, search.step(null, live()).ratio(), 0.0);      // se reintenta el mismo punto
+    }
+
+    @Test
+    void warmStartsFromTheIncumbent() {
+        FakeRatioBackend backend = new FakeRatioBackend(OPTIMUM, WITNESS);
+        RatioBisection search = new RatioBisection(backend, UPPER, TOLERANCE, RATIO);
+        search.raiseLower(RATIO.applyAsDouble(INCUMBENT));
+
+        RatioSearch.Step step = search.step(INCUMBENT, live());
+        assertEquals(6.0, step.ratio(), 0.0);
+        assertSame(INCUMBENT, backend.warmStarts.get(0));
+
+        assertEquals(4.0, search.step(INCUMBENT, live()).ratio(), 0.0);
+        assertSame(INCUMBENT, backend.warmStarts.get(1));
+        assertEquals(2.0, search.lower(), 0.0);
+        assertEquals(4.0, search.upper(), 0.0);
+    }
+}
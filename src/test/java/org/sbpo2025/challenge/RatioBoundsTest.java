@@ -0,0 +1,34 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** {@link RatioBounds} en los casos límite del número de pasillos. */
+class RatioBoundsTest {
+
+    @Test
+    void withoutAislesTheBoundIsZero() {
+        Instance inst = new Instance(1,
+                new int[]{0, 1}, new int[]{0}, new int[]{2},
+                new int[]{0}, new int[]{}, new int[]{},
+                1, 10);
+        RatioBounds bounds = RatioBounds.compute(inst);
+        assertEquals(0.0, bounds.upper(), 0.0);
+        assertEquals(0.0, bounds.ratioWithAtLeast(1), 0.0);
+        assertTrue(bounds.toString().startsWith("cota 0.0000 (sin pasillos)"), bounds.toString());
+    }
+
+    /** Una orden de 2 uds que sólo sirve el pasillo 0: cota 2 con k = 1. */
+    @Test
+    void oneAisleBoundsTheRatioByItsUsefulCapacity() {
+        Instance inst = new Instance(1,
+                new int[]{0, 1}, new int[]{0}, new int[]{2},
+                new int[]{0, 1}, new int[]{0}, new int[]{5},
+                1, 10);
+        RatioBounds bounds = RatioBounds.compute(inst);
+        assertEquals(2.0, bounds.upper(), 1e-9);
+        assertTrue(bounds.toString().startsWith("cota 2.0000 (k=1, 2 uds)"), bounds.toString());
+    }
+}
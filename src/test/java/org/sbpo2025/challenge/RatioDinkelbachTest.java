@@ -0,0 +1,88 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.sbpo2025.challenge.FakeRatioBackend.INCUMBENT;
+import static org.sbpo2025.challenge.FakeRatioBackend.OPTIMUM;
+import static org.sbpo2025.challenge.FakeRatioBackend.RATIO;
+import static org.sbpo2025.challenge.FakeRatioBackend.TOLERANCE;
+import static org.sbpo2025.challenge.FakeRatioBackend.UPPER;
+import static org.sbpo2025.challenge.FakeRatioBackend.WITNESS;
+import static org.sbpo2025.challenge.FakeRatioBackend.live;
+
+/** {@link RatioDinkelbach} contra {@link FakeRatioBackend}. */
+class RatioDinkelbachTest {
+
+    @Test
+    void convergesToTheOptimum() {
+        FakeRatioBackend backend = new FakeRatioBackend(OPTIMUM, WITNESS);
+        RatioDinkelbach search = new RatioDinkelbach(backend, UPPER, TOLERANCE, RATIO);
+        search.raiseLower(1.0);
+        for (int i = 0; i < 10 && !search.converged(); i++) search.step(null, live());
+        assertTrue(search.converged());
+        assertEquals(OPTIMUM, search.lower(), 0.0);
+        assertEquals(OPTIMUM, search.upper(), 0.0);
+        assertEquals(2, search.solves());
+    }
+
+    @Test
+    void infeasibleProvesLambdaOptimal() {
+        RatioDinkelbach search = new RatioDinkelbach(new FakeRatioBackend(OPTIMUM, WITNESS), UPPER, TOLERANCE, RATIO);
+        search.raiseLower(OPTIMUM);
+        RatioSearch.Step step = search.step(null, live());
+        assertEquals(RatioBackend.Status.INFEASIBLE, step.result().status());
+        assertFalse(step.cancelled());
+        assertEquals(OPTIMUM, search.upper(), 0.0);
+        assertTrue(search.converged());
+    }
+
+    @Test
+    void limitMovesNothingAndRetriesTheSameLambda() {
+        RatioDinkelbach search = new RatioDinkelbach(new FakeRatioBackend(5.0, WITNESS, 2.0), UPPER, TOLERANCE, RATIO);
+        search.raiseLower(3.0);
+        RatioSearch.Step step = search.step(null, live());
+        assertEquals(3.0, step.ratio(), 0.0);
+        assertEquals(RatioBackend.Status.UNKNOWN, step.result().status());
+        assertFalse(step.cancelled());
+        assertEquals(3.0, search.lower(), 0.0);
+        assertEquals(UPPER, search.upper(), 0.0);
+        assertEquals(3.0, search.step(null, live()).ratio(), 0.0);
+    }
+
+    @Test
+    void cancelledStepMovesNothing() {
+        RatioDinkelbach search = new RatioDinkelbach(new FakeRatioBackend(OPTIMUM, WITNESS), UPPER, TOLERANCE, RATIO);
+        search.raiseLower(2.0);
+        CancelToken cancelled = live();
+        cancelled.cancel();
+
+        RatioSearch.Step step = search.step(null, cancelled);
+        assertTrue(step.cancelled());
+        assertEquals(2.0, search.lower(), 0.0);
+        assertEquals(UPPER, search.upper(), 0.0);
+        assertEquals(2.0, search.step(null, live()).ratio(), 0.0);
+    }
+
+    @Test
+    void warmStartsFromTheIncumbent() {
+        FakeRatioBackend backend = new FakeRatioBackend(OPTIMUM, WITNESS);
+        RatioDinkelbach search = new RatioDinkelbach(backend, UPPER, TOLERANCE, RATIO);
+        search.raiseLower(RATIO.applyAsDouble(INCUMBENT));
+
+        RatioSearch.Step step = search.step(INCUMBENT, live());
+        assertEquals(2.0, step.ratio(), 0.0);
+        assertSame(INCUMBENT, backend.warmStarts.get(0));
+        assertEquals(OPTIMUM, search.lower(), 0.0);
+    }
+
+    @Test
+    void raiseLowerNeverPassesTheUpperBound() {
+        RatioDinkelbach search = new RatioDinkelbach(new FakeRatioBackend(OPTIMUM, WITNESS), UPPER, TOLERANCE, RATIO);
+        search.raiseLower(UPPER + 1);
+        assertEquals(UPPER, search.lower(), 0.0);
+    }
+}
@@ -0,0 +1,132 @@
+package org.sbpo2025.challenge;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Cambios de {@link SolverSession}: la ola se repara y las instancias anteriores no cambian. */
+class SolverSessionTest {
+    private static final SolverConfig CONFIG = new SolverConfig(1);
+
+    /**
+     * Orden 0: ítem 0 × 2; orden 1: ítem 1 × 3. Pasillo 0: ítem 0 × 4;
+     * pasillo 1: ítem 1 × 1. La única ola factible es {0} en {0}, ratio 2.
+     */
+    private static SolverSession session() {
+        Instance inst = new Instance(2,
+                new int[]{0, 1, 2}, new int[]{0, 1}, new int[]{2, 3},
+                new int[]{0, 1, 2}, new int[]{0, 1}, new int[]{4, 1},
+                1, 10);
+        SolverSession session = new SolverSession(inst, CONFIG);
+        session.reoptimize(System.currentTimeMillis() + 300);
+        assertEquals(new ChallengeSolution(Set.of(0), Set.of(0)), session.wave());
+        return session;
+    }
+
+    private static void assertFeasible(SolverSession session) {
+        assertNotNull(session.wave());
+        ChallengeSolver check = new ChallengeSolver(session.instance(), CONFIG);
+        assertTrue(check.isSolutionFeasible(session.wave()), "wave " + session.wave());
+        assertEquals(check.computeObjectiveFunction(session.wave()), session.ratio(), 1e-9);
+        InstanceTest.assertConsistent(session.instance());
+    }
+
+    @Test
+    void addOrderNumbersAfterTheLastAndRepacksTheWave() {
+        SolverSession session = session();
+        Instance before = session.instance();
+        assertEquals(2, session.addOrder(new int[]{0}, new int[]{2}));
+
+        assertEquals(3, session.instance().nOrders);
+        assertEquals(2, before.nOrders);
+        assertEquals(7L, session.instance().totalUnitsRequested);
+        assertEquals(new ChallengeSolution(Set.of(0, 2), Set.of(0)), session.wave());
+        assertEquals(4.0, session.ratio(), 0.0);
+        assertFeasible(session);
+    }
+
+    @Test
+    void addOrderRejectsInvalidLines() {
+        SolverSession session = session();
+        assertThrows(IllegalArgumentException.class, () -> session.addOrder(new int[]{}, new int[]{}));
+        assertThrows(IllegalArgumentException.class, () -> session.addOrder(new int[]{0}, new int[]{1, 2}));
+        assertThrows(IllegalArgumentException.class, () -> session.addOrder(new int[]{2}, new int[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> session.addOrder(new int[]{0}, new int[]{0}));
+        assertThrows(IllegalArgumentException.class, () -> session.addOrder(new int[]{1, 1}, new int[]{1, 1}));
+        assertEquals(2, session.instance().nOrders);
+    }
+
+    @Test
+    void cancelOrderEmptiesItAndDropsItFromTheWave() {
+        SolverSession session = session();
+        session.addOrder(new int[]{0}, new int[]{1});
+        Instance before = session.instance();
+        session.cancelOrder(0);
+
+        assertEquals(0, session.instance().orderUnits[0]);
+        assertEquals(2, before.orderUnits[0]);
+        assertEquals(new ChallengeSolution(Set.of(2), Set.of(0)), session.wave());
+        assertFeasible(session);
+
+        session.cancelOrder(2);
+        assertNull(session.wave());
+        assertThrows(IllegalArgumentException.class, () -> session.cancelOrder(3));
+    }
+
+    @Test
+    void updateAisleStockOnAnExistingItem() {
+        SolverSession session = session();
+        Instance before = session.instance();
+        session.updateAisleStock(1, 1, 5);
+
+        assertEquals(5, session.instance().aisleQuantity(1, 1));
+        assertEquals(1, before.aisleQuantity(1, 1));
+        assertEquals(1, before.aisleUnits[1]);
+        assertFeasible(session);
+
+        session.updateAisleStock(0, 0, 1);                             // la orden 0 ya no cabe en el pasillo 0
+        assertEquals(1, session.instance().aisleQuantity(0, 0));
+        assertFalse(session.wave().orders().contains(0));
+        assertFeasible(session);
+    }
+
+    @Test
+    void updateAisleStockAddsANewItemToTheAisle() {
+        SolverSession session = session();
+        Instance before = session.instance();
+        session.updateAisleStock(1, 0, 6);
+
+        Instance after = session.instance();
+        assertNotSame(before, after);
+        assertEquals(6, after.aisleQuantity(1, 0));
+        assertEquals(0, before.aisleQuantity(1, 0));
+        assertEquals(2, after.aisleStart[2] - after.aisleStart[1]);
+        assertEquals(1, before.aisleStart[2] - before.aisleStart[1]);
+        assertEquals(1, after.itemAisle[after.itemAisleStart[0]]);     // 6 > 4: encabeza la fila del ítem 0
+        InstanceTest.assertConsistent(before);
+        assertFeasible(session);
+
+        assertThrows(IllegalArgumentException.class, () -> session.updateAisleStock(2, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> session.updateAisleStock(0, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> session.updateAisleStock(0, 0, -1));
+    }
+
+    @Test
+    void reoptimizeAfterChangesKeepsAFeasibleWave() {
+        SolverSession session = session();
+        session.updateAisleStock(1, 1, 3);
+        session.addOrder(new int[]{0, 1}, new int[]{1, 1});
+        session.reoptimize(System.currentTimeMillis() + 300);
+        assertFeasible(session);
+        assertEquals(new ChallengeSolution(Set.of(1), Set.of(1)), session.wave());   // 3 uds en un pasillo
+        assertEquals(3.0, session.ratio(), 0.0);
+    }
+}